@@ -0,0 +1,80 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.benchmarks;
+
+import com.jamw.jmud.Dimension;
+import com.jamw.jmud.Dimensions;
+import com.jamw.jmud.Unit;
+import com.jamw.jmud.Units;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the dimension and unit builders.
+ * 
+ * @author andreww1011
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderBenchmark {
+    
+    @Benchmark
+    public Dimension newDimension() {
+        return Dimensions.newDimension()
+                .append(Dimensions.MASS)
+                .append(Dimensions.LENGTH)
+                .append(Dimensions.TIME,-2)
+                .create();
+    }
+    
+    @Benchmark
+    public Unit newCompoundUnit() {
+        return Units.newUnit().as(Units.KILOGRAM).multiply(Units.METER).divide(Units.SECOND,2).create();
+    }
+    
+    @Benchmark
+    public Unit newNamedCompoundUnit() {
+        return Units.newUnit()
+                .ofDimension(Dimensions.FORCE)
+                .as(Units.KILOGRAM).multiply(Units.METER).divide(Units.SECOND,2)
+                .withName("NEWTON").withSymbol("N")
+                .create();
+    }
+    
+    @Benchmark
+    public Unit newRatioUnit() {
+        return Units.newUnit().asExactly(5280).ofA(Units.FOOT).withSymbol("mi").create();
+    }
+    
+    @Benchmark
+    public Unit prefixedUnit() {
+        return Units.kilo(Units.METER);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.benchmarks;
+
+import com.jamw.jmud.Expression;
+import com.jamw.jmud.Expressions;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Units;
+import com.jamw.jmud.fields.DoubleField;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of building and particularizing running totals, i.e. chains of
+ * additions as deep as their length.  The average time per operation should
+ * grow linearly with the length of the chain.  The heap is fixed so that 
+ * resizing it does not distort the longer chains.
+ * 
+ * @author andreww1011
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ChainBenchmark {
+    
+    @Param({"1000", "10000", "100000"})
+    public int length;
+    
+    private static Expression buildChain(int length) {
+        Expression total = Expressions.take(0,Units.METER);
+        for (int i = 0; i < length; i++)
+            total = total.add(Expressions.take(i,Units.CENTIMETER));
+        return total;
+    }
+    
+    /**
+     * Builds and particularizes a fresh running total.
+     */
+    @Benchmark
+    public Measure<DoubleField> buildAndUsing() {
+        return buildChain(length).using(DoubleField.factory());
+    }
+    
+    /**
+     * Builds, compiles, and executes a fresh running total.
+     */
+    @Benchmark
+    public Measure<DoubleField> buildAndCompile() {
+        return buildChain(length).compile().using(DoubleField.factory());
+    }
+}
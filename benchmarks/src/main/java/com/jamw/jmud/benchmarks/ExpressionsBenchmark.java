@@ -0,0 +1,115 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.benchmarks;
+
+import com.jamw.jmud.Expression;
+import com.jamw.jmud.Expressions;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Units;
+import com.jamw.jmud.fields.DoubleField;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of creating expressions and particularizing them to a field.
+ * 
+ * @author andreww1011
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionsBenchmark {
+    
+    @Param({"8", "64"})
+    public int depth;
+    
+    private DoubleField value;
+    private Expression tree;
+    private Expression compiled;
+    
+    @Setup
+    public void setup() {
+        value = DoubleField.of(1.5);
+        tree = buildTree(depth);
+        compiled = buildTree(depth).compile();
+    }
+    
+    private static Expression buildTree(int depth) {
+        Expression e = Expressions.take(1,Units.METER);
+        for (int i = 0; i < depth; i++) {
+            if ((i & 1) == 0)
+                e = e.add(Expressions.take(i,Units.CENTIMETER));
+            else
+                e = e.multiply(2).divide("2");
+        }
+        return e;
+    }
+    
+    @Benchmark
+    public Expression takeInt() {
+        return Expressions.take(42,Units.METER);
+    }
+    
+    @Benchmark
+    public Expression takeString() {
+        return Expressions.take("42.5",Units.METER);
+    }
+    
+    @Benchmark
+    public Measure<DoubleField> takeField() {
+        return Expressions.take(value,Units.METER);
+    }
+    
+    /**
+     * Particularizes a previously particularized tree; measures the cost of 
+     * a memoized evaluation.
+     */
+    @Benchmark
+    public Measure<DoubleField> usingMemoized() {
+        return tree.using(DoubleField.factory());
+    }
+    
+    /**
+     * Builds and particularizes a fresh tree; measures the cost of a full evaluation.
+     */
+    @Benchmark
+    public Measure<DoubleField> buildAndUsing() {
+        return buildTree(depth).using(DoubleField.factory());
+    }
+    
+    /**
+     * Executes a compiled program of a tree.
+     */
+    @Benchmark
+    public Measure<DoubleField> compiledUsing() {
+        return compiled.using(DoubleField.factory());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.benchmarks;
+
+import com.jamw.jmud.Expressions;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Unit;
+import com.jamw.jmud.Units;
+import com.jamw.jmud.fields.DoubleField;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of arithmetic on and conversion of particularized measures.
+ * 
+ * @author andreww1011
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeasureBenchmark {
+    
+    private Unit kilometer;
+    private Unit kilometerPerHour;
+    private Measure<DoubleField> length;
+    private Measure<DoubleField> time;
+    private Measure<DoubleField> speed;
+    
+    @Setup
+    public void setup() {
+        kilometer = Units.kilo(Units.METER);
+        kilometerPerHour = Units.newUnit().as(kilometer).divide(Units.HOUR).create();
+        length = Expressions.take(DoubleField.of(12.5),kilometer);
+        time = Expressions.take(DoubleField.of(3.0),Units.MINUTE);
+        speed = Expressions.take(DoubleField.of(88.0),kilometerPerHour);
+    }
+    
+    @Benchmark
+    public Measure<DoubleField> asPrefixed() {
+        return length.as(Units.MILLIMETER);
+    }
+    
+    @Benchmark
+    public Measure<DoubleField> asCompound() {
+        return speed.as(Units.FOOT_PER_SECOND);
+    }
+    
+    @Benchmark
+    public Measure<DoubleField> multiplyDivideChain() {
+        return length.divide(time).multiply(time).divide(length).multiply(speed);
+    }
+    
+    @Benchmark
+    public Measure<DoubleField> addChain() {
+        return length.add(length).subtract(length).add(length);
+    }
+}
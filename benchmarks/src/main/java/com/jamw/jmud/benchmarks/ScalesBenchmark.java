@@ -0,0 +1,79 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.benchmarks;
+
+import com.jamw.jmud.Expressions;
+import com.jamw.jmud.Level;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Scale;
+import com.jamw.jmud.Scales;
+import com.jamw.jmud.Units;
+import com.jamw.jmud.fields.DoubleField;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of conversions between measures and levels of a scale.
+ * 
+ * @author andreww1011
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalesBenchmark {
+    
+    private Scale decibelMilliwatt;
+    private Measure<DoubleField> power;
+    private Measure<DoubleField> temperature;
+    private DoubleField celsius;
+    
+    @Setup
+    public void setup() {
+        decibelMilliwatt = Scales.decibel(Units.milli(Units.WATT));
+        power = Expressions.take(DoubleField.of(2.5),Units.WATT);
+        temperature = Expressions.take(DoubleField.of(300.0),Units.KELVIN);
+        celsius = DoubleField.of(21.5);
+    }
+    
+    @Benchmark
+    public Level<DoubleField> decibelLevel() {
+        return decibelMilliwatt.level(power);
+    }
+    
+    @Benchmark
+    public Level<DoubleField> celsiusLevel() {
+        return Scales.CELSIUS.level(temperature);
+    }
+    
+    @Benchmark
+    public Measure<DoubleField> celsiusToKelvin() {
+        return Scales.CELSIUS.of(celsius).getMeasure().as(Units.KELVIN);
+    }
+}
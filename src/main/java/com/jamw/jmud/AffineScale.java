@@ -0,0 +1,52 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+/**
+ * An affine scale is a scale whose levels are a linear function of the 
+ * measure in the reference unit.  The level <i>y</i> of a measure of 
+ * <i>x</i> reference units is:
+ * 
+ * <p><i>y = a•x + b</i>,
+ * 
+ * <p>where <i>a</i> is the non-zero {@linkplain #getSlope() slope} and <i>b</i>
+ * is the {@linkplain #getOffset() offset} of the scale.  Levels of two affine 
+ * scales with commensurable reference units are related by a single 
+ * multiplication and addition, see 
+ * {@link Scales#convert(com.jamw.jmud.Level, com.jamw.jmud.Scale)}.
+ * 
+ * <p>Affine scales are created by {@link Scales#affine(java.lang.String, java.lang.String, com.jamw.jmud.Unit, com.jamw.jmud.Scalar, com.jamw.jmud.Scalar)}.
+ *
+ * @author andreww1011
+ */
+public interface AffineScale extends Scale {
+    
+    /**
+     * Returns the slope of this scale, the change in level per reference unit.
+     *
+     * @return a {@link com.jamw.jmud.Scalar} object
+     */
+    Scalar getSlope();
+    
+    /**
+     * Returns the offset of this scale, the level of zero reference units.
+     *
+     * @return a {@link com.jamw.jmud.Scalar} object
+     */
+    Scalar getOffset();
+}
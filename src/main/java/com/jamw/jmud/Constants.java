@@ -45,7 +45,7 @@ public abstract class Constants<F extends Field<F>> {
      * The ratio of the circumference of a circle to its diameter, <i>\u03C0</i>, 
      * defined as 3.141 592 653 589 793 238 462 643 383 279.
      */
-    public static final Scalar pi = Expressions.take(Units.PI);
+    public static final Scalar pi = Expressions.PI;
     
     /**
      * The base of natural logarithms, <i>e</i>, defined as 2.718 281 828 459 045 235 360 287 471 352.
@@ -0,0 +1,89 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+/**
+ * The conversion factors between every pair of a family of commensurable
+ * units, particularized to a field.
+ *
+ * <p>Units are identified by their index in the family.  The factor at
+ * <i>(from,&nbsp;to)</i> is the ratio <i>scale(from)/scale(to)</i>, so that a
+ * value in the unit at index <i>from</i> multiplied by the factor is the 
+ * equivalent value in the unit at index <i>to</i>.  All factors are 
+ * calculated when the matrix is created; conversions by index neither check 
+ * dimensions nor evaluate scales.
+ *
+ * <p>Conversion matrices are created by {@link Conversions#matrix(com.jamw.jmud.Field.Factory, com.jamw.jmud.Unit...)}.
+ * All implementations of this interface are immutable and thread-safe.
+ *
+ * @param <F> the type of field of the conversion factors.
+ * 
+ * @author andreww1011
+ */
+public interface ConversionMatrix<F extends Field<F>> {
+    
+    /**
+     * Returns the number of units of this matrix.
+     *
+     * @return an int
+     */
+    int size();
+    
+    /**
+     * Returns the unit at the specified index.
+     *
+     * @param index an index.
+     * @return a {@link com.jamw.jmud.Unit} object
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    Unit getUnit(int index);
+    
+    /**
+     * Returns the index of the first occurrence of the specified unit in this
+     * matrix, or {@code -1} if there is none.
+     *
+     * @param unit a unit.
+     * @return an int
+     */
+    int indexOf(Unit unit);
+    
+    /**
+     * Returns the factor by which a value in the unit at index {@code from} is
+     * multiplied to obtain the equivalent value in the unit at index {@code to}.
+     *
+     * @param from the index of the source unit.
+     * @param to the index of the target unit.
+     * @return the conversion factor <i>scale(from)/scale(to)</i>.
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    F factor(int from, int to);
+    
+    /**
+     * Returns the specified value in the unit at index {@code from} converted
+     * to the unit at index {@code to}.
+     *
+     * @param value a value.
+     * @param from the index of the unit of the value.
+     * @param to the index of the target unit.
+     * @return a field
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    default F convert(F value, int from, int to) {
+        return from == to ? value : value.multiply(factor(from,to));
+    }
+}
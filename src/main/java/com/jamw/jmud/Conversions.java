@@ -0,0 +1,241 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Factory class for conversion factors between commensurable units.
+ *
+ * <p>The conversion factor from a source unit to a target unit is the ratio
+ * of the scale of the source unit to the scale of the target unit, particularized
+ * to a field.  When both units have exact scales the ratio is reduced exactly
+ * before it is particularized, so that, for example, the factor from kilometers
+ * to millimeters is exactly one million.  Conversion factors are held in a shared, bounded cache keyed by
+ * the source unit, the target unit, and the field factory, so that a repeated
+ * conversion costs a single lookup.  When the cache reaches its capacity it is
+ * flushed and refilled on demand.
+ *
+ * <p>All methods of this class are thread-safe.
+ *
+ * @author andreww1011
+ */
+public abstract class Conversions {
+
+    /**
+     * The maximum number of conversion factors held by the cache.
+     */
+    static final int CAPACITY = 4096; //magic number
+
+    private static final Map<Key,Field> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private Conversions() {}
+
+    /**
+     * Returns the factor by which a value in the source unit is multiplied to
+     * obtain the equivalent value in the target unit, particularized to the
+     * field of the specified factory.
+     *
+     * @param <F> the type of field in which to represent the factor.
+     * @param from the source unit.
+     * @param to the target unit.
+     * @param factory the factory of the field.
+     * @return the conversion factor <i>scale(from)/scale(to)</i>.
+     * @throws IncommensurableDimensionException if the dimensions of the
+     * specified units are not commensurable.
+     */
+    public static <F extends Field<F>> F factor(Unit from, Unit to, Field.Factory<F> factory)
+            throws IncommensurableDimensionException {
+        Key key = new Key(from,to,factory);
+        Field f = CACHE.get(key);
+        if (f != null) {
+            HITS.increment();
+            return (F)f;
+        }
+        MISSES.increment();
+        Dimension.assertCommensurable(from.getDimension(),to.getDimension());
+        F v = ratio(from,to,factory);
+        if (CACHE.size() >= CAPACITY)
+            CACHE.clear();
+        CACHE.putIfAbsent(key,v);
+        return v;
+    }
+
+    /**
+     * Returns the matrix of conversion factors between every pair of the 
+     * specified units, particularized to the field of the specified factory.
+     * The dimensions of the units are checked and their scales evaluated once,
+     * when the matrix is created.  The factors of the matrix are not held by
+     * the cache.
+     *
+     * @param <F> the type of field in which to represent the factors.
+     * @param factory the factory of the field.
+     * @param units the commensurable units of the matrix.
+     * @return a {@link com.jamw.jmud.ConversionMatrix} object
+     * @throws IncommensurableDimensionException if the dimensions of the
+     * specified units are not commensurable.
+     * @throws IllegalArgumentException if no unit is specified.
+     */
+    public static <F extends Field<F>> ConversionMatrix<F> matrix(Field.Factory<F> factory, Unit... units)
+            throws IncommensurableDimensionException {
+        if (units.length == 0)
+            throw new IllegalArgumentException("A conversion matrix requires at least one unit.");
+        Unit[] u = units.clone();
+        int n = u.length;
+        Field[] scales = new Field[n];
+        ExactScale[] exact = new ExactScale[n];
+        for (int i = 0; i < n; i++) {
+            Dimension.assertCommensurable(u[0].getDimension(),u[i].getDimension());
+            exact[i] = Units.exactScale(u[i]);
+            if (exact[i] == null)
+                scales[i] = u[i].getScale(factory);
+        }
+        Field[] factors = new Field[n * n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++) {
+                if (i == j || u[i].equals(u[j]))
+                    factors[i * n + j] = factory.one();
+                else if (exact[i] != null && exact[j] != null)
+                    factors[i * n + j] = exact[i].divide(exact[j]).using(factory);
+                else
+                    factors[i * n + j] = scale(scales,u,i,factory).divide(scale(scales,u,j,factory));
+            }
+        return new ConversionMatrixImpl<>(u,factors);
+    }
+    
+    private static <F extends Field<F>> F ratio(Unit from, Unit to, Field.Factory<F> factory) {
+        ExactScale a = Units.exactScale(from);
+        ExactScale b = Units.exactScale(to);
+        if (a != null && b != null)
+            return a.divide(b).using(factory);
+        return from.getScale(factory).divide(to.getScale(factory));
+    }
+    
+    private static <F extends Field<F>> F scale(Field[] scales, Unit[] units, int i, Field.Factory<F> factory) {
+        if (scales[i] == null)
+            scales[i] = units[i].getScale(factory);
+        return (F)scales[i];
+    }
+    
+    /**
+     * Returns the number of conversion factors served from the cache.
+     *
+     * @return a long
+     */
+    public static long hitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns the number of conversion factors that were not found in the
+     * cache and had to be calculated.
+     *
+     * @return a long
+     */
+    public static long missCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Removes all conversion factors from the cache.  The hit and miss counters
+     * are not reset.
+     */
+    public static void clear() {
+        CACHE.clear();
+    }
+
+    private static final class ConversionMatrixImpl<F extends Field<F>> implements ConversionMatrix<F> {
+        
+        private final Unit[] units;
+        private final Field[] factors;
+        
+        private ConversionMatrixImpl(Unit[] units, Field[] factors) {
+            this.units = units;
+            this.factors = factors;
+        }
+        
+        @Override
+        public int size() {
+            return units.length;
+        }
+        
+        @Override
+        public Unit getUnit(int index) {
+            return units[index];
+        }
+        
+        @Override
+        public int indexOf(Unit unit) {
+            for (int i = 0; i < units.length; i++)
+                if (units[i].equals(unit))
+                    return i;
+            return -1; //magic number
+        }
+        
+        @Override
+        public F factor(int from, int to) {
+            return (F)factors[Objects.checkIndex(from,units.length) * units.length + Objects.checkIndex(to,units.length)];
+        }
+        
+        @Override
+        public String toString() {
+            return "ConversionMatrix" + Arrays.toString(units);
+        }
+    }
+    
+    private static final class Key {
+
+        private final Unit from, to;
+        private final Field.Factory<?> factory;
+        private final int hash;
+
+        private Key(Unit from, Unit to, Field.Factory<?> factory) {
+            this.from = from;
+            this.to = to;
+            this.factory = factory;
+            int h = 7;
+            h = 31 * h + from.hashCode();
+            h = 31 * h + to.hashCode();
+            h = 31 * h + factory.hashCode();
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key k = (Key)o;
+            return from.equals(k.from)
+                    && to.equals(k.to)
+                    && factory.equals(k.factory);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -17,10 +17,14 @@
  */
 package com.jamw.jmud;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Factory class of common dimensions.
@@ -97,33 +101,48 @@ public abstract class Dimensions {
      */
     public static final FundamentalDimension LUMINOUS_INTENSITY = Universe.LUMINOUS_INTENSITY;
 
+    /**
+     * Base class of compositions.  Equality and hashing of compositions of 
+     * this class compare their {@link Signature signatures} where both are
+     * packed, and compare their components otherwise.
+     */
     static abstract class AbstractComposition implements Composition {
         
-        private boolean isHashcodeCalced, isToStringCalced;
         private int hashcode;
         private String toString;
+        private Signature signature;
         
-        AbstractComposition() {
-            isHashcodeCalced = false;
-            isToStringCalced = false;
-        }
+        AbstractComposition() {}
         
         @Override
         public final int hashCode() {
-            if (!isHashcodeCalced) {
-                hashcode = calcHashcode();
-                isHashcodeCalced = true;
+            int h = hashcode;
+            if (h == 0) {
+                h = calcHashcode();
+                hashcode = h;
             }
-            return hashcode;
+            return h;
         }
         
         private static final int i = 7, j = 17;
         
+        private Signature signature() {
+            Signature s = signature;
+            if (s == null) {
+                s = Signature.of(this);
+                signature = s;
+            }
+            return s;
+        }
+        
         private int calcHashcode() {
+            Signature s = signature();
+            if (s != Signature.EXOTIC)
+                return s.hashCode();
             int hash = i;
             for (CompositionComponent cc : this) {
                 if (!cc.exponent().isEqualTo(Exponents.ZERO)) {
-                    hash = j * hash + Objects.hashCode(cc);
+                    hash += j * Objects.hashCode(cc);
                 }
             }
             return hash;
@@ -136,6 +155,14 @@ public abstract class Dimensions {
             if (!(o instanceof Composition))
                 return false;
             Composition co = (Composition)o;
+            if (o instanceof AbstractComposition) {
+                Signature s = signature();
+                Signature so = ((AbstractComposition)o).signature();
+                if (s != Signature.EXOTIC && so != Signature.EXOTIC)
+                    return s.low == so.low && s.high == so.high;
+                if (s != Signature.EXOTIC || so != Signature.EXOTIC)
+                    return false;
+            }
             for (CompositionComponent cc : this) {
                 if (!cc.exponent().isEqualTo(co.getExponent(cc.fundamentalDimension())))
                     return false;
@@ -149,11 +176,12 @@ public abstract class Dimensions {
         
         @Override
         public final String toString() {
-            if (!isToStringCalced) {
-                toString = calcToString(this);
-                isToStringCalced = true;
+            String t = toString;
+            if (t == null) {
+                t = calcToString(this);
+                toString = t;
             }
-            return toString;
+            return t;
         }
         
         private static String calcToString(Composition c) {
@@ -180,6 +208,62 @@ public abstract class Dimensions {
         }
     }
     
+    /**
+     * The exponents of a composition packed into two longs.  The exponent of
+     * the fundamental dimension of {@linkplain Universe#ordinal(FundamentalDimension) ordinal}
+     * <i>k</i> is held, multiplied by six, in the <i>k</i>-th signed byte.  
+     * Two compositions with packed signatures are equal if and only if their 
+     * signatures are equal.  A composition with a fundamental dimension of 
+     * ordinal sixteen or greater, or with an exponent that is not a multiple of
+     * one-sixth between <i>-128/6</i> and <i>127/6</i>, has the 
+     * {@link #EXOTIC} signature and must be compared component-wise.
+     */
+    private static final class Signature {
+        
+        private static final int SLOTS = 16; //magic number
+        private static final int SLOTS_PER_LONG = 8; //magic number
+        private static final int BITS = 8; //magic number
+        private static final long MASK = 0xFF; //magic number
+        private static final int SCALE = 6; //magic number
+        private static final Signature EXOTIC = new Signature(0,0);
+        
+        private final long low, high;
+        
+        private Signature(long low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+        
+        private static Signature of(Composition c) {
+            long low = 0, high = 0;
+            for (CompositionComponent cc : c) {
+                Exponent e = cc.exponent();
+                if (e.numerator() == 0)
+                    continue;
+                int ordinal = Universe.ordinal(cc.fundamentalDimension());
+                if (ordinal < 0 || ordinal >= SLOTS)
+                    return EXOTIC;
+                long scaled = (long)SCALE * e.numerator();
+                if (e.denominator() == 0 || scaled % e.denominator() != 0)
+                    return EXOTIC;
+                long v = scaled / e.denominator();
+                if (v < Byte.MIN_VALUE || v > Byte.MAX_VALUE)
+                    return EXOTIC;
+                long bits = (v & MASK) << (BITS * (ordinal % SLOTS_PER_LONG));
+                if (ordinal < SLOTS_PER_LONG)
+                    low |= bits;
+                else
+                    high |= bits;
+            }
+            return new Signature(low,high);
+        }
+        
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(low) + Long.hashCode(high); //magic number
+        }
+    }
+    
     static abstract class AbstractCompositionComponent implements CompositionComponent {
         
         AbstractCompositionComponent() {}
@@ -258,18 +342,128 @@ public abstract class Dimensions {
         return DimensionBuilder.NULL_BUILDER;
     }
 
+    /**
+     * The maximum number of results held by the cache of dimension algebra.
+     */
+    static final int ALGEBRA_CAPACITY = 4096; //magic number
+    
+    private static final Map<AlgebraKey,Dimension> ALGEBRA = new ConcurrentHashMap<>();
+    private static final Map<Composition,Dimension> PREFERRED = new ConcurrentHashMap<>();
+    
+    /**
+     * Returns the unnamed dimension of the product of the specified dimensions.
+     * Results are cached by the compositions of the operands.
+     */
+    static Dimension product(Dimension a, Dimension b) {
+        return algebra(AlgebraKey.PRODUCT,a,b.getComposition(),b);
+    }
+    
+    /**
+     * Returns the unnamed dimension of the quotient of the specified dimensions.
+     * Results are cached by the compositions of the operands.
+     */
+    static Dimension quotient(Dimension a, Dimension b) {
+        return algebra(AlgebraKey.QUOTIENT,a,b.getComposition(),b);
+    }
+    
+    /**
+     * Returns the unnamed dimension of the specified dimension raised to the
+     * specified exponent.  Results are cached by the composition of the 
+     * dimension and the exponent.
+     */
+    static Dimension power(Dimension a, Exponent e) {
+        return algebra(AlgebraKey.POWER,a,e,e);
+    }
+    
+    private static Dimension algebra(int op, Dimension a, Object b, Object operand) {
+        AlgebraKey key = new AlgebraKey(op,a.getComposition(),b);
+        Dimension d = ALGEBRA.get(key);
+        if (d != null)
+            return d;
+        switch (op) {
+            case AlgebraKey.PRODUCT:
+                d = newDimension().append(a).append((Dimension)operand).create();
+                break;
+            case AlgebraKey.QUOTIENT:
+                d = newDimension().append(a).append((Dimension)operand,-1).create();
+                break;
+            default:
+                d = newDimension().append(a,(Exponent)operand).create();
+        }
+        if (ALGEBRA.size() >= ALGEBRA_CAPACITY)
+            ALGEBRA.clear();
+        ALGEBRA.putIfAbsent(key,d);
+        return d;
+    }
+    
+    private static final class AlgebraKey {
+        
+        private static final int PRODUCT = 0, QUOTIENT = 1, POWER = 2; //magic number
+        
+        private final int op;
+        private final Composition a;
+        private final Object b;
+        private final int hash;
+        
+        private AlgebraKey(int op, Composition a, Object b) {
+            this.op = op;
+            this.a = a;
+            this.b = b;
+            int h = 7;
+            h = 31 * h + op;
+            h = 31 * h + a.hashCode();
+            h = 31 * h + b.hashCode();
+            this.hash = h;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof AlgebraKey))
+                return false;
+            AlgebraKey k = (AlgebraKey)o;
+            return op == k.op
+                    && a.equals(k.a)
+                    && b.equals(k.b);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * A composition backed by an array of components sorted by the 
+     * {@linkplain Universe#ordinal(FundamentalDimension) ordinals} of their
+     * fundamental dimensions.  Components are created once at construction, so
+     * that traversing the composition does not allocate components.
+     */
     private static final class CompositionImpl extends AbstractComposition {
 
-        private final Map<FundamentalDimension,Exponent> compositionMap;
+        private static final Comparator<CompositionComponent> ORDER = 
+                Comparator.comparingInt((CompositionComponent c) -> Universe.ordinal(c.fundamentalDimension()))
+                          .thenComparingInt((c) -> System.identityHashCode(c.fundamentalDimension()));
+        
+        private final CompositionComponent[] components;
 
         private CompositionImpl(Map<FundamentalDimension,Exponent> compositionMap) {
             super();
-            this.compositionMap = compositionMap;
+            CompositionComponent[] c = new CompositionComponent[compositionMap.size()];
+            int k = 0;
+            for (Map.Entry<FundamentalDimension,Exponent> e : compositionMap.entrySet())
+                c[k++] = new CompositionComponentImpl(e.getKey(),e.getValue());
+            Arrays.sort(c,ORDER);
+            this.components = c;
         }
 
         @Override
         public Exponent getExponent(FundamentalDimension d) {
-            return compositionMap.getOrDefault(d,Exponents.ZERO);
+            for (CompositionComponent c : components)
+                if (c.fundamentalDimension().equals(d))
+                    return c.exponent();
+            return Exponents.ZERO;
         }
 
         @Override
@@ -279,11 +473,7 @@ public abstract class Dimensions {
 
         private final class CompositionIteratorImpl implements Iterator<CompositionComponent> {
 
-            private final Iterator<FundamentalDimension> iter;
-
-            private CompositionIteratorImpl() {
-                iter = compositionMap.keySet().iterator();
-            }
+            private int index;
 
             @Override
             public void remove() {
@@ -292,14 +482,14 @@ public abstract class Dimensions {
 
             @Override
             public boolean hasNext() {
-                return iter.hasNext();
+                return index < components.length;
             }
 
             @Override
             public CompositionComponent next() {
-                FundamentalDimension fd = iter.next();
-                Exponent e = compositionMap.get(fd);
-                return new CompositionComponentImpl(fd,e);
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return components[index++];
             }
         }
     }
@@ -701,6 +891,49 @@ public abstract class Dimensions {
         AREA_MAGNETIC_FLUX_DENSITY
                                 = newDimension().append(MAGNETIC_FLUX).append(AREA,-1).withName("AREA MAGNETIC FLUX DENSITY").withSymbol("B").create();
         INDUCTANCE              = newDimension().append(MAGNETIC_FLUX).append(ELECTRIC_CURRENT,-1).withName("INDUCTANCE").withSymbol("L").create();
+        
+        //preferred dimensions of shared compositions precede their alternatives
+        index(DIMENSIONLESS, MASS, LENGTH, TIME, ELECTRIC_CURRENT, THERMODYNAMIC_TEMPERATURE,
+              AMOUNT_OF_SUBSTANCE, LUMINOUS_INTENSITY, FREQUENCY, FORCE, PRESSURE, ENERGY,
+              ACCELERATION, ANGULAR_ACCELERATION, AREA, CATALYTIC_ACTIVITY, ELECTRIC_CHARGE,
+              LINEAR_MASS_DENSITY, ANGLE, SOLID_ANGLE, STRAIN, VELOCITY, VOLUME,
+              ANGULAR_VELOCITY, AREA_MASS_DENSITY, LUMINOUS_FLUX, MASS_DENSITY, RADIOACTIVITY,
+              ILLUMINANCE, LINEAR_WEIGHT_DENSITY, MOMENT, WEIGHT, WEIGHT_DENSITY,
+              AREA_WEIGHT_DENSITY, STRESS, ABSORBED_DOSE, POWER, ELECTRIC_POTENTIAL,
+              ELECTRIC_CAPACITANCE, ELECTRIC_RESISTANCE, ELECTRIC_CONDUCTANCE, MAGNETIC_FLUX,
+              AREA_MAGNETIC_FLUX_DENSITY, INDUCTANCE);
+    }
+    
+    private static void index(Dimension... dimensions) {
+        for (Dimension d : dimensions)
+            PREFERRED.putIfAbsent(d.getComposition(),d);
+    }
+    
+    /**
+     * Returns the preferred named dimension of the specified composition, or 
+     * {@code null} if there is none.  
+     * 
+     * <p>The preferred dimensions are initially the dimensions of this class, 
+     * where the dimension of the SI named unit is preferred among dimensions 
+     * sharing a composition, e.g. {@link #ENERGY} is preferred to 
+     * {@link #MOMENT}.  The preferred dimension of a composition may be 
+     * replaced using {@link #setPreferredDimension(com.jamw.jmud.Dimension)}.
+     *
+     * @param composition a composition.
+     * @return a {@link com.jamw.jmud.Dimension} object, or {@code null}.
+     */
+    public static final Dimension preferredDimension(Composition composition) {
+        return PREFERRED.get(composition);
+    }
+    
+    /**
+     * Sets the specified dimension as the preferred dimension of its 
+     * composition, replacing any previously preferred dimension.
+     *
+     * @param dimension a dimension.
+     */
+    public static final void setPreferredDimension(Dimension dimension) {
+        PREFERRED.put(dimension.getComposition(),dimension);
     }
     
     /**
@@ -732,6 +965,8 @@ public abstract class Dimensions {
     public static final class DimensionBuilder {
 
         private static final DimensionBuilder NULL_BUILDER = new DimensionBuilder("","",Map.of());
+        private static final Map<Composition,Composition> COMPOSITIONS = new ConcurrentHashMap<>();
+        private static final Map<Composition,Dimension> UNNAMED = new ConcurrentHashMap<>();
         
         private final String name, symbol;
         private final Map<FundamentalDimension,Exponent> compositionMap;
@@ -829,18 +1064,41 @@ public abstract class Dimensions {
         }
 
         /**
-         * Returns a new Dimension object using the 
-         * parameters set by this builder.
+         * Returns a Dimension object using the parameters set by this builder.
+         * 
+         * <p>The composition of the returned dimension is canonical: dimensions
+         * created by this method with equal compositions share the same 
+         * composition object.  Where neither a name nor a symbol is specified, 
+         * the same dimension is returned for equal compositions; otherwise a new
+         * dimension is returned.
          */
         public Dimension create() {
             Map<FundamentalDimension,Exponent> map = new HashMap<>(compositionMap);
             cleanCompositionMap(map);
-            Composition composition = new CompositionImpl(map);
+            Composition composition = canonicalComposition(map);
+            if (isBlank(name) && isBlank(symbol))
+                return UNNAMED.computeIfAbsent(composition,(c) -> new DimensionImpl(c,calcName(c),calcSymbol(c)));
             String n = formatName(name,composition);
             String s = formatSymbol(symbol,composition);
             return new DimensionImpl(composition,n,s);
         }
         
+        /**
+         * Returns the canonical composition of the specified cleaned map.  The 
+         * composition of a single fundamental dimension raised to the power one
+         * is the composition of the fundamental dimension.
+         */
+        private static Composition canonicalComposition(Map<FundamentalDimension,Exponent> map) {
+            if (map.size() == 1) {
+                Map.Entry<FundamentalDimension,Exponent> e = map.entrySet().iterator().next();
+                if (e.getValue().isEqualTo(Exponents.ONE))
+                    return e.getKey().getComposition();
+            }
+            Composition c = new CompositionImpl(map);
+            Composition existing = COMPOSITIONS.putIfAbsent(c,c);
+            return existing == null ? c : existing;
+        }
+        
         private static void cleanCompositionMap(Map<FundamentalDimension,Exponent> map) {
             map.entrySet().removeIf((e) -> e.getValue().equals(Exponents.ZERO));
             if (map.isEmpty())
@@ -0,0 +1,298 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * The exact scale of a unit: a rational number times an integral power of 
+ * <i>&pi;</i>.
+ *
+ * <p>This field is used to reduce the ratio of the scales of two units 
+ * exactly, before the ratio is particularized to another field.  The scalar
+ * {@link Expressions#PI} is read as <i>&pi;</i>, and every decimal literal as
+ * a rational number.  Sums of terms of 
+ * different powers of <i>&pi;</i>, non-integral powers other than of one, and
+ * logarithms are not exact and throw an {@link ArithmeticException}, as do
+ * products and powers of a numerator or denominator of more than 
+ * {@link #BIT_LIMIT} bits.  The field is its own factory.
+ *
+ * @author andreww1011
+ */
+final class ExactScale implements Field<ExactScale>, Field.Factory<ExactScale> {
+    
+    /**
+     * The exact scale zero.
+     */
+    static final ExactScale ZERO = new ExactScale(Rational.ZERO,0);
+    
+    /**
+     * The exact scale one.
+     */
+    static final ExactScale ONE = new ExactScale(Rational.ONE,0);
+    
+    /**
+     * The exact scale <i>&pi;</i>.
+     */
+    static final ExactScale PI = new ExactScale(Rational.ONE,1);
+    
+    private static final String PI_SUFFIX = "*pi";
+    
+    /**
+     * The maximum number of bits of the numerator or the denominator of an
+     * exact scale, past which exactness is given up.
+     */
+    static final int BIT_LIMIT = 1024; //magic number
+    
+    private final Rational value;
+    private final int pi;
+    
+    private ExactScale(Rational value, int pi) {
+        this.value = value;
+        this.pi = value.numerator().signum() == 0 ? 0 : pi;
+    }
+    
+    /**
+     * Returns the factory of exact scales.
+     *
+     * @return a {@link com.jamw.jmud.ExactScale} object
+     */
+    static ExactScale factory() {
+        return ZERO;
+    }
+    
+    /**
+     * Returns the exact value of the specified scalar, or {@code null} if its
+     * value is not exact.
+     *
+     * @param scalar a scalar.
+     * @return a {@link com.jamw.jmud.ExactScale} object, or {@code null}.
+     */
+    static ExactScale of(Scalar scalar) {
+        try {
+            return Expressions.evaluate(scalar,ZERO);
+        } catch (ArithmeticException | NumberFormatException ex) {
+            return null;
+        }
+    }
+    
+    /**
+     * Returns the exact scale of the specified string, as returned by
+     * {@link #toString()}: a decimal or a quotient of integers, optionally
+     * followed by {@code "*pi"} or {@code "*pi^n"}.
+     *
+     * @param s a string.
+     * @return a {@link com.jamw.jmud.ExactScale} object
+     * @throws NumberFormatException if the string is malformed.
+     */
+    static ExactScale parse(String s) {
+        int pi = 0;
+        int i = s.indexOf(PI_SUFFIX);
+        if (i >= 0) {
+            String p = s.substring(i + PI_SUFFIX.length());
+            pi = p.isEmpty() ? 1 : Integer.parseInt(p.substring(1));
+            s = s.substring(0,i);
+        }
+        int j = s.indexOf('/');
+        Rational r = j < 0 ? Rational.factory().of(s) 
+                           : Rational.of(new BigInteger(s.substring(0,j)),new BigInteger(s.substring(j + 1)));
+        return new ExactScale(r,pi);
+    }
+    
+    /**
+     * Returns the rational factor of this scale.
+     *
+     * @return a {@link com.jamw.jmud.Rational} object
+     */
+    Rational rational() {
+        return value;
+    }
+    
+    /**
+     * Returns the power of <i>&pi;</i> of this scale.
+     *
+     * @return an int
+     */
+    int piPower() {
+        return pi;
+    }
+    
+    /**
+     * Returns this scale particularized to the field of the specified factory:
+     * the decimal value if it terminates, or else the numerator divided by the
+     * denominator, multiplied by the power of <i>&pi;</i> if it is not zero.
+     *
+     * @param <F> the type of field.
+     * @param factory the factory of the field.
+     * @return a field
+     */
+    <F extends Field<F>> F using(Field.Factory<F> factory) {
+        F v = value.using(factory);
+        if (pi != 0)
+            v = v.multiply(Expressions.PI.using(factory).power(factory.of(pi)));
+        return v;
+    }
+    
+    /**
+     * Returns a literal scalar of this scale.
+     *
+     * @return a {@link com.jamw.jmud.Scalar} object
+     */
+    Scalar toScalar() {
+        if (pi == 0)
+            return value.toScalar();
+        Scalar s = Expressions.PI;
+        if (pi != 1) //magic number
+            s = s.power(Expressions.take(pi));
+        if (!value.numerator().equals(BigInteger.ONE))
+            s = s.multiply(value.numerator().toString());
+        if (!value.denominator().equals(BigInteger.ONE))
+            s = s.divide(value.denominator().toString());
+        return s;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale zero() {
+        return ZERO;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale one() {
+        return ONE;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale of(int value) {
+        return new ExactScale(Rational.factory().of(value),0);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale of(String value) throws NumberFormatException {
+        return new ExactScale(Rational.factory().of(value),0);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale getFactory() {
+        return ZERO;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale negate() {
+        return new ExactScale(value.negate(),pi);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale reciprocal() throws ArithmeticException {
+        return new ExactScale(value.reciprocal(),-pi);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale add(ExactScale b) {
+        if (b.value.numerator().signum() == 0)
+            return this;
+        if (value.numerator().signum() == 0)
+            return b;
+        if (pi != b.pi)
+            throw new ArithmeticException("Sum of different powers of pi");
+        return new ExactScale(value.add(b.value),pi);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale multiply(ExactScale b) {
+        return new ExactScale(checkBits(value.multiply(b.value)),Math.addExact(pi,b.pi));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale power(ExactScale exponent) throws ArithmeticException {
+        if (exponent.pi != 0)
+            throw new ArithmeticException("Power of pi");
+        if (equals(ONE))
+            return ONE;
+        Rational e = exponent.value;
+        if (!e.denominator().equals(BigInteger.ONE))
+            throw new ArithmeticException("Non-integral power of an exact scale");
+        int n = e.numerator().intValueExact();
+        long bits = Math.max(value.numerator().bitLength(),value.denominator().bitLength());
+        if (bits * Math.abs((long)n) > BIT_LIMIT)
+            throw new ArithmeticException("Exact scale too large");
+        return new ExactScale(value.power(e),Math.multiplyExact(pi,n));
+    }
+    
+    private static Rational checkBits(Rational r) {
+        if (r.numerator().bitLength() > BIT_LIMIT || r.denominator().bitLength() > BIT_LIMIT)
+            throw new ArithmeticException("Exact scale too large");
+        return r;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public ExactScale logarithm(ExactScale base) throws ArithmeticException {
+        throw new ArithmeticException("Logarithm of an exact scale");
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public int compareTo(ExactScale o) {
+        if (pi == o.pi)
+            return value.compareTo(o.value);
+        return Double.compare(doubleValue(),o.doubleValue());
+    }
+    
+    private double doubleValue() {
+        return new BigDecimal(value.numerator()).divide(new BigDecimal(value.denominator()),MathContext.DECIMAL64).doubleValue()
+                * Math.pow(Math.PI,pi);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof ExactScale))
+            return false;
+        ExactScale e = (ExactScale)o;
+        return pi == e.pi && value.equals(e.value);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 31 * value.hashCode() + pi; //magic number
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        String r = value.isTerminating() ? value.toDecimalString() : value.toString();
+        if (pi == 0)
+            return r;
+        return r + PI_SUFFIX + (pi == 1 ? "" : "^" + pi);
+    }
+}
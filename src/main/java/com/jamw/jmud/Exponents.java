@@ -26,6 +26,23 @@ public abstract class Exponents {
     
     private Exponents() {}
     
+    private static final int MIN_NUMERATOR = -12, MAX_NUMERATOR = 12; //magic number
+    private static final int MAX_DENOMINATOR = 6; //magic number
+    
+    /**
+     * Preallocated exponents of the reduced fractions with numerators from
+     * {@code MIN_NUMERATOR} to {@code MAX_NUMERATOR} and denominators from one
+     * to {@code MAX_DENOMINATOR}, indexed by denominator and numerator.
+     */
+    private static final Exponent[][] FLYWEIGHTS = new Exponent[MAX_DENOMINATOR + 1][MAX_NUMERATOR - MIN_NUMERATOR + 1];
+    
+    static {
+        for (int d = 1; d <= MAX_DENOMINATOR; d++)
+            for (int n = MIN_NUMERATOR; n <= MAX_NUMERATOR; n++)
+                if (gcd(Math.abs(n),d) == 1)
+                    FLYWEIGHTS[d][n - MIN_NUMERATOR] = new ExponentImpl(n,d);
+    }
+    
     /**
      * The rational number power zero (0/1).
      */
@@ -79,44 +96,46 @@ public abstract class Exponents {
      * @return a {@link com.jamw.jmud.Exponent} object
      */
     public static final Exponent of(int numerator, int denominator) {
-        return of(numerator,denominator, false);
+        if (denominator == 0)
+            throw new IllegalArgumentException("Denominator cannot be equal to zero.");
+        return reduce(numerator,denominator);
+    }
+    
+    /**
+     * Returns the exponent of the fraction <i>numerator/denominator</i> in 
+     * lowest terms, preferring a preallocated exponent.
+     * 
+     * @throws ArithmeticException if the numerator or the denominator in lowest
+     * terms overflows an int.
+     */
+    private static Exponent reduce(long numerator, long denominator) {
+        if (denominator < 0) {
+            numerator = -numerator;
+            denominator = -denominator;
+        }
+        long gcd = gcd(Math.abs(numerator),denominator);
+        return flyweight(checkInt(numerator / gcd),checkInt(denominator / gcd));
     }
     
-    private static final Exponent of(int numerator, int denominator, boolean isReduced) {
-        return new ExponentImpl(numerator,denominator, isReduced);
+    private static Exponent flyweight(int numerator, int denominator) {
+        if (denominator <= MAX_DENOMINATOR 
+                && numerator >= MIN_NUMERATOR 
+                && numerator <= MAX_NUMERATOR)
+            return FLYWEIGHTS[denominator][numerator - MIN_NUMERATOR];
+        return new ExponentImpl(numerator,denominator);
     }
     
     private static final class ExponentImpl implements Exponent {
         
         private final int numerator, denominator;
 
+        /**
+         * Creates an exponent of a fraction in lowest terms with a positive
+         * denominator.
+         */
         private ExponentImpl(int numerator, int denominator) {
-            this(numerator,denominator,false);
-        }
-
-        private ExponentImpl(int numerator, int denominator, boolean isReduced) {
-            if (isReduced) {
-                this.numerator = numerator;
-                this.denominator = denominator;
-            } else {
-                checkDenominator(denominator);
-                int n = numerator;
-                int d = denominator;
-                if (denominator < 0) {
-                    n = -n;
-                    d = -d;
-                }
-                int gcd = gcd(java.lang.Math.abs(n),d);
-                n /= gcd;
-                d /= gcd;
-                this.numerator = n;
-                this.denominator = d;
-            }
-        }
-
-        private static void checkDenominator(int denominator) {
-            if (denominator == 0)
-                throw new IllegalArgumentException("Denominator cannot be equal to zero.");
+            this.numerator = numerator;
+            this.denominator = denominator;
         }
 
         @Override
@@ -138,6 +157,15 @@ public abstract class Exponents {
             Exponent eo = (Exponent)o;
             return this.isEqualTo(eo);
         }
+        
+        @Override
+        public boolean isEqualTo(Exponent e) {
+            if (this == e)
+                return true;
+            if (e instanceof ExponentImpl)
+                return numerator == e.numerator() && denominator == e.denominator();
+            return compareTo(e) == 0;
+        }
 
         @Override
         public int hashCode() {
@@ -161,7 +189,11 @@ public abstract class Exponents {
     }
     
     private static int gcd(int a, int b) {
-        int A,B,tmp;
+        return (int)gcd((long)a,(long)b);
+    }
+    
+    private static long gcd(long a, long b) {
+        long A,B,tmp;
         A = a;
         B = b;
         while (B != 0) {
@@ -172,6 +204,14 @@ public abstract class Exponents {
         return A;
     }
     
+    private static boolean isZero(Exponent e) {
+        return e == ZERO || e.numerator() == 0;
+    }
+    
+    private static boolean isOne(Exponent e) {
+        return e == ONE || (e.numerator() == 1 && e.denominator() == 1);
+    }
+    
     /**
      * Utility method to aid the calculation of the rational number exponent
      * of the product of two variables with rational number exponents.  The returned exponent
@@ -181,27 +221,24 @@ public abstract class Exponents {
      * @param a exponent
      * @param b exponent
      * @return the rational number exponent a+b in lowest terms
+     * @throws ArithmeticException if the numerator or denominator of the 
+     * result overflows an int.
      */
     static Exponent product(Exponent a, Exponent b) {
-        if (ZERO.isEqualTo(a))
+        if (isZero(a))
             return b;
-        if (ZERO.isEqualTo(b))
+        if (isZero(b))
             return a;
-        int ngcd = gcd(a.numerator(),b.numerator());
-        int dgcd = gcd(a.denominator(),b.denominator());
-        int n = (a.numerator() / ngcd) * (b.denominator() / dgcd) + (b.numerator() / ngcd) * (a.denominator() / dgcd);
-        int d = lcm(a.denominator(),b.denominator());
-        Exponent e = new ExponentImpl(n,d);
-        return new ExponentImpl(e.numerator()*ngcd,e.denominator(),true);
-    }
-    
-    private static int lcm(int a, int b) {
-        return a * (b / gcd(a,b));
+        if (a.denominator() == b.denominator())
+            return reduce((long)a.numerator() + b.numerator(),a.denominator());
+        return reduce((long)a.numerator() * b.denominator() + (long)b.numerator() * a.denominator(),
+                      (long)a.denominator() * b.denominator());
     }
     
-    private static void checkLong(long l) {
-        if (l > Integer.MAX_VALUE)
+    private static int checkInt(long l) {
+        if (l > Integer.MAX_VALUE || l < Integer.MIN_VALUE)
             throw new ArithmeticException("integer overflow");
+        return (int)l;
     }
 
     /**
@@ -214,25 +251,26 @@ public abstract class Exponents {
      * @param a exponent
      * @param b exponent
      * @return the rational number exponent a*b in lowest terms
+     * @throws ArithmeticException if the numerator or denominator of the 
+     * result overflows an int.
      */
     static Exponent power(Exponent a, Exponent b) {
-        if (ZERO.isEqualTo(a) || ZERO.isEqualTo(b))
+        if (isZero(a) || isZero(b))
             return ZERO;
-        if (ONE.isEqualTo(a))
+        if (isOne(a))
             return b;
-        if (ONE.isEqualTo(b))
+        if (isOne(b))
             return a;
-        Exponent e1 = new ExponentImpl(a.numerator(),b.denominator());
-        Exponent e2 = new ExponentImpl(b.numerator(),a.denominator());
-        return new ExponentImpl(e1.numerator()*e2.numerator(),e1.denominator()*e2.denominator());
+        return reduce((long)a.numerator() * b.numerator(),(long)a.denominator() * b.denominator());
     }
     
     /**
      * Utility method to negate a rational number exponent. 
      * @param a exponent
-     * @return 
+     * @return the rational number exponent -a
+     * @throws ArithmeticException if the negated numerator overflows an int.
      */
     static Exponent negate(Exponent a) {
-        return new ExponentImpl(-a.numerator(),a.denominator(), true);
+        return flyweight(checkInt(-(long)a.numerator()),a.denominator());
     }
 }
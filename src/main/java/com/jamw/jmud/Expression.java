@@ -408,4 +408,22 @@ public interface Expression {
      * @return a {@link com.jamw.jmud.Measure} object
      */
     <T extends Field<T>> Measure<T> using(T.Factory<T> factory);
+    
+    /**
+     * Returns an expression equivalent to this expression that is prepared for
+     * repeated particularization.
+     * 
+     * <p>Implementations may use this method to flatten the operations of an
+     * expression into a program, eliminate common subexpressions, and resolve 
+     * units and dimensions before particularization.  A compiled expression 
+     * need not retain the measures to which it is particularized, and may 
+     * evaluate its operations each time it is particularized.
+     * 
+     * <p>The default implementation returns this expression.
+     *
+     * @return a {@link com.jamw.jmud.Expression} object
+     */
+    default Expression compile() {
+        return this;
+    }
 }
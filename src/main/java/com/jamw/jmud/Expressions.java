@@ -17,9 +17,18 @@
  */
 package com.jamw.jmud;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 /**
@@ -44,8 +53,42 @@ public abstract class Expressions {
      */
     static final Scalar TEN = take(10); //magic number
     
+    /**
+     * A scalar representing the number <i>&pi;</i>, particularized as the 
+     * decimal literal {@link Units#PI}.  Unlike an equal decimal literal, this
+     * scalar is never folded, and its exact scale is a power of <i>&pi;</i>.
+     */
+    static final Scalar PI = ScalarImpl.pi();
+    
+    private static volatile boolean memoizingIntermediates = true;
+    
     private Expressions(){}
     
+    /**
+     * Sets whether the results of intermediate operations of scalars and 
+     * expressions are memoized.  Leaves, i.e. scalars and expressions created 
+     * by the {@code take} methods of this class, always memoize their values.
+     * Disabling memoization of intermediates reduces the heap retained by
+     * transient expressions at the cost of re-evaluating shared operands.
+     * Memoization is enabled by default.
+     *
+     * @param memoizing {@code true} to memoize the results of intermediate
+     * operations; {@code false} otherwise.
+     */
+    public static void setMemoizingIntermediates(boolean memoizing) {
+        memoizingIntermediates = memoizing;
+    }
+    
+    /**
+     * Returns whether the results of intermediate operations of scalars and 
+     * expressions are memoized.
+     *
+     * @return a boolean
+     */
+    public static boolean isMemoizingIntermediates() {
+        return memoizingIntermediates;
+    }
+    
     /**
      * Returns a scalar of the specified integer.  The returned implementation is
      * immutable and thread-safe.
@@ -116,7 +159,7 @@ public abstract class Expressions {
      * @return a {@link com.jamw.jmud.Expression} object
      */
     public static final Expression take(Function<Field.Factory,Measure> function, Dimension dimension) {
-        return new ExpressionImpl(function,dimension);
+        return new ExpressionImpl(Op.FUNCTION,null,null,null,function,null,dimension);
     }
     
     /**
@@ -132,71 +175,349 @@ public abstract class Expressions {
         return MeasureImpl.take(value,unit);
     }
     
+    /**
+     * Returns the specified scalar particularized to the field of the 
+     * specified factory without memoizing the values of its nodes, so that a
+     * one-off evaluation does not occupy the memos of the scalar.
+     *
+     * @param <F> the type of field.
+     * @param scalar a scalar.
+     * @param factory the factory of the field.
+     * @return a field
+     */
+    static <F extends Field<F>> F evaluate(Scalar scalar, Field.Factory<F> factory) {
+        if (!(scalar instanceof ScalarImpl))
+            return scalar.using(factory);
+        return (F)new Evaluation(factory,false).evaluate(scalar);
+    }
+    
+    /**
+     * A memo of values particularized to field factories.  The first factory
+     * is held in a single slot; up to {@link #OVERFLOW} further factories are 
+     * held in a copy-on-write array.  Values of factories beyond these are not
+     * retained.  Slots are claimed by compare-and-set, so that a value may be
+     * evaluated more than once by racing threads, but a single value is 
+     * returned for each memoized factory.
+     */
+    static final class Memo<V> {
+        
+        private static final int OVERFLOW = 3; //magic number
+        private static final Entry[] EMPTY = new Entry[0];
+        private static final AtomicReferenceFieldUpdater<Memo,Entry> SLOT =
+                AtomicReferenceFieldUpdater.newUpdater(Memo.class,Entry.class,"slot");
+        private static final AtomicReferenceFieldUpdater<Memo,Entry[]> ENTRIES =
+                AtomicReferenceFieldUpdater.newUpdater(Memo.class,Entry[].class,"entries");
+        
+        private volatile Entry slot;
+        private volatile Entry[] entries = EMPTY;
+        
+        V get(Field.Factory factory) {
+            Entry e = slot;
+            if (e == null)
+                return null;
+            if (e.matches(factory))
+                return (V)e.value;
+            for (Entry o : entries)
+                if (o.matches(factory))
+                    return (V)o.value;
+            return null;
+        }
+        
+        V putIfAbsent(Field.Factory factory, V value) {
+            Entry e = new Entry(factory,value);
+            if (SLOT.compareAndSet(this,null,e))
+                return value;
+            Entry s = slot;
+            if (s.matches(factory))
+                return (V)s.value;
+            while (true) {
+                Entry[] o = entries;
+                for (Entry x : o)
+                    if (x.matches(factory))
+                        return (V)x.value;
+                if (o.length >= OVERFLOW)
+                    return value;
+                Entry[] n = Arrays.copyOf(o,o.length + 1);
+                n[o.length] = e;
+                if (ENTRIES.compareAndSet(this,o,n))
+                    return value;
+            }
+        }
+        
+        private static final class Entry {
+            
+            private final Field.Factory factory;
+            private final Object value;
+            
+            private Entry(Field.Factory factory, Object value) {
+                this.factory = factory;
+                this.value = value;
+            }
+            
+            private boolean matches(Field.Factory f) {
+                return factory == f || factory.equals(f);
+            }
+        }
+    }
+    
+    /**
+     * Operations recorded by the nodes of scalars and expressions.
+     */
+    private enum Op {
+        //scalar leaves
+        INTEGER, DECIMAL, RATIONAL, PI, SCALAR,
+        //scalar operations
+        NEGATE, RECIPROCAL, ADD, SUBTRACT, MULTIPLY, DIVIDE, POWER, POWER_EXPONENT, LOGARITHM,
+        //expression leaves
+        MEASURE, FUNCTION, EXPRESSION,
+        //expression operations
+        ADD_VALUE, ADD_EXPRESSION, 
+        SUBTRACT_VALUE, SUBTRACT_EXPRESSION,
+        MULTIPLY_SCALAR, MULTIPLY_VALUE, MULTIPLY_EXPRESSION,
+        DIVIDE_SCALAR, DIVIDE_VALUE, DIVIDE_EXPRESSION,
+        POWER_MEASURE
+    }
+    
+    /**
+     * A scalar recorded as a node of an operation on its operands.  Leaves are
+     * integer and decimal literals, rational literals, and scalars of other
+     * implementations.
+     *
+     * <p>An operation on integer, decimal or rational literals is folded when
+     * the node is created into a single rational literal of its exact value,
+     * which a factory particularizes with a single literal.  Its text is its
+     * value, a terminating decimal or else a quotient of integers, e.g. 
+     * {@code "1/3"} rather than {@code "(1)/(3)"}, and so are the generated 
+     * names and symbols of ratio units of a folded scale.  The leaf {@link Expressions#PI} is not a literal and is not
+     * folded, so that scales of units remain exact multiples of <i>&pi;</i>.
+     * Operations whose value is not rational, or whose numerator or 
+     * denominator would exceed {@link #FOLD_LIMIT} bits, are recorded as nodes
+     * and evaluated on demand.
+     */
     private static final class ScalarImpl implements Scalar {
+        
+        /**
+         * The maximum number of bits of the numerator or denominator of a 
+         * folded rational literal.
+         */
+        private static final int FOLD_LIMIT = 1024; //magic number
+        
+        /**
+         * The maximum number of significant or fractional digits of a decimal
+         * literal which is folded.
+         */
+        private static final int DIGIT_LIMIT = 300; //magic number
 
         private static final ScalarImpl take(int scalar) {
-            String i = Integer.toString(scalar);
-            return new ScalarImpl((Field.Factory factory) -> factory.of(scalar),i);
+            return new ScalarImpl(Op.INTEGER,null,null,scalar);
         }
         
         private static final ScalarImpl take(String scalar) {
-            return new ScalarImpl((Field.Factory factory) -> factory.of(scalar),scalar);
+            return new ScalarImpl(Op.DECIMAL,null,null,scalar);
+        }
+        
+        private static ScalarImpl pi() {
+            return new ScalarImpl(Op.PI,null,null,Units.PI);
+        }
+        
+        private static ScalarImpl node(Scalar scalar) {
+            if (scalar instanceof ScalarImpl)
+                return (ScalarImpl)scalar;
+            return new ScalarImpl(Op.SCALAR,null,null,scalar);
+        }
+        
+        /**
+         * Returns a node of the specified operation, folded into a rational 
+         * literal if its operands are literals and its value is rational.
+         */
+        private static ScalarImpl fold(Op op, ScalarImpl left, ScalarImpl right, Object payload) {
+            Rational x = left.literal();
+            Rational y = right == null ? null : right.literal();
+            if (x != null && (right == null || y != null) && isFoldable(op,x,y,payload)) {
+                try {
+                    Rational v = (Rational)apply(op,Rational.factory(),x,y,payload);
+                    if (v.numerator().bitLength() <= FOLD_LIMIT && v.denominator().bitLength() <= FOLD_LIMIT)
+                        return new ScalarImpl(Op.RATIONAL,null,null,v);
+                } catch (ArithmeticException ex) {
+                    //not rational, or a division by zero which is thrown on evaluation
+                }
+            }
+            return new ScalarImpl(op,left,right,payload);
+        }
+        
+        private static boolean isFoldable(Op op, Rational x, Rational y, Object payload) {
+            int e;
+            if (op == Op.POWER) {
+                if (!y.denominator().equals(BigInteger.ONE) || y.numerator().bitLength() >= Integer.SIZE)
+                    return false;
+                e = y.numerator().intValue();
+            } else if (op == Op.POWER_EXPONENT) {
+                Exponent ex = (Exponent)payload;
+                if (ex.denominator() != 1)
+                    return false;
+                e = ex.numerator();
+            } else {
+                return true;
+            }
+            long bits = x.numerator().bitLength() + x.denominator().bitLength();
+            return bits * Math.abs((long)e) <= FOLD_LIMIT;
+        }
+        
+        /**
+         * Returns the value of this node if it is a literal which may be 
+         * folded, or null.
+         */
+        private Rational literal() {
+            switch (op) {
+                case INTEGER:
+                    return Rational.factory().of((Integer)payload);
+                case RATIONAL:
+                    return (Rational)payload;
+                case DECIMAL:
+                    try {
+                        BigDecimal d = new BigDecimal((String)payload);
+                        if (d.precision() > DIGIT_LIMIT || Math.abs(d.scale()) > DIGIT_LIMIT)
+                            return null;
+                        return Rational.of(d);
+                    } catch (NumberFormatException ex) {
+                        return null;
+                    }
+                default:
+                    return null;
+            }
         }
         
-        private final Map<Field.Factory,Field> memo;
-        private final Function<Field.Factory,Field> function;
-        private final String toString;
+        private final Memo<Field> memo;
+        private final Op op;
+        private final ScalarImpl left, right;
+        private final Object payload;
+        private String toString;
         
-        private ScalarImpl(Function<Field.Factory,Field> function,String toString) {
-            this.memo = new ConcurrentHashMap<>();
-            this.function = function;
-            this.toString = toString;
+        private ScalarImpl(Op op, ScalarImpl left, ScalarImpl right, Object payload) {
+            this.memo = new Memo<>();
+            this.op = op;
+            this.left = left;
+            this.right = right;
+            this.payload = payload;
         }
         
+        /**
+         * {@inheritDoc}
+         *
+         * The textual form is rendered on the first call and cached.
+         */
         @Override
         public String toString() {
-            return toString;
+            String s = toString;
+            if (s == null)
+                toString = s = render();
+            return s;
+        }
+        
+        /**
+         * Renders the textual form of this scalar by walking the tree of its
+         * operands with an explicit stack of nodes and text, reusing the cached
+         * textual forms of nodes already rendered.
+         */
+        private String render() {
+            StringBuilder sb = new StringBuilder();
+            Deque<Object> stack = new ArrayDeque<>();
+            stack.push(this);
+            while (!stack.isEmpty()) {
+                Object o = stack.pop();
+                if (!(o instanceof ScalarImpl)) {
+                    sb.append((String)o);
+                    continue;
+                }
+                ScalarImpl s = (ScalarImpl)o;
+                if (s.toString != null)
+                    sb.append(s.toString);
+                else
+                    s.pushText(stack);
+            }
+            return sb.toString();
+        }
+        
+        /**
+         * Pushes the text and operands of the textual form of this node onto
+         * the specified stack, in reverse order.
+         */
+        private void pushText(Deque<Object> stack) {
+            switch (op) {
+                case INTEGER:
+                case DECIMAL:
+                case PI:
+                case SCALAR:
+                    push(stack,payload.toString());
+                    break;
+                case RATIONAL:
+                    Rational r = (Rational)payload;
+                    push(stack,r.isTerminating() ? r.toDecimalString() : r.toString());
+                    break;
+                case NEGATE:
+                    push(stack,"-(",left,")");
+                    break;
+                case RECIPROCAL:
+                    push(stack,"(1/(",left,"))");
+                    break;
+                case ADD:
+                    push(stack,left," + ",right);
+                    break;
+                case SUBTRACT:
+                    push(stack,left," - ",right);
+                    break;
+                case MULTIPLY:
+                    push(stack,"(",left,")*(",right,")");
+                    break;
+                case DIVIDE:
+                    push(stack,"(",left,")/(",right,")");
+                    break;
+                case POWER:
+                    push(stack,"(",left,")^(",right,")");
+                    break;
+                case POWER_EXPONENT:
+                    Exponent e = (Exponent)payload;
+                    String i = e.denominator() == 1 ? 
+                               Integer.toString(e.numerator()) :
+                               Integer.toString(e.numerator()) + "/" + Integer.toString(e.denominator());
+                    push(stack,"(",left,")^(",i,")");
+                    break;
+                case LOGARITHM:
+                    push(stack,"log_",right,"(",left,")");
+                    break;
+                default:
+                    throw new IllegalStateException("Not a scalar operation: " + op);
+            }
+        }
+        
+        private static void push(Deque<Object> stack, Object... parts) {
+            for (int i = parts.length - 1; i >= 0; i--)
+                stack.push(parts[i]);
         }
         
         @Override
         public Scalar negate() {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).negate();
-            StringBuilder sb = new StringBuilder(toString.length()+3); //magic number
-            sb.append("-(").append(toString).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.NEGATE,this,null,null);
         }
         
         @Override
         public Scalar reciprocal() throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).reciprocal();
-            StringBuilder sb = new StringBuilder(toString.length()+6); //magic number
-            sb.append("(1/(").append(toString).append("))");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.RECIPROCAL,this,null,null);
         }
         
         @Override
         public Scalar add(int scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).add(factory.of(scalar));
-            String i = Integer.toString(scalar);
-            StringBuilder sb = new StringBuilder(toString.length() + i.length() + 3); //magic number
-            sb.append(toString).append(" + ").append(i);
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.ADD,this,take(scalar),null);
         }
 
         @Override
         public Scalar add(String scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).add(factory.of(scalar));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.length() + 3); //magic number
-            sb.append(toString).append(" + ").append(scalar);
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.ADD,this,take(scalar),null);
         }
 
         @Override
         public Scalar add(Scalar scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).add(scalar.using(factory));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.toString().length() + 3); //magic number
-            sb.append(toString).append(" + ").append(scalar.toString());
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.ADD,this,node(scalar),null);
         }
 
         @Override
@@ -216,27 +537,17 @@ public abstract class Expressions {
 
         @Override
         public Scalar subtract(int scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).subtract(factory.of(scalar));
-            String i = Integer.toString(scalar);
-            StringBuilder sb = new StringBuilder(toString.length() + i.length() + 3); //magic number
-            sb.append(toString).append(" - ").append(i);
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.SUBTRACT,this,take(scalar),null);
         }
 
         @Override
         public Scalar subtract(String scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).subtract(factory.of(scalar));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.length() + 3); //magic number
-            sb.append(toString).append(" - ").append(scalar);
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.SUBTRACT,this,take(scalar),null);
         }
 
         @Override
         public Scalar subtract(Scalar scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).subtract(scalar.using(factory));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.toString().length() + 3); //magic number
-            sb.append(toString).append(" - ").append(scalar.toString());
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.SUBTRACT,this,node(scalar),null);
         }
         
         @Override
@@ -256,27 +567,17 @@ public abstract class Expressions {
         
         @Override
         public Scalar multiply(int scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).multiply(factory.of(scalar));
-            String i = Integer.toString(scalar);
-            StringBuilder sb = new StringBuilder(toString.length() + i.length() + 5); //magic number
-            sb.append("(").append(toString).append(")*(").append(i).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.MULTIPLY,this,take(scalar),null);
         }
 
         @Override
         public Scalar multiply(String scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).multiply(factory.of(scalar));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.length() + 5); //magic number
-            sb.append("(").append(toString).append(")*(").append(scalar).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.MULTIPLY,this,take(scalar),null);
         }
 
         @Override
         public Scalar multiply(Scalar scalar) {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).multiply(scalar.using(factory));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.toString().length() + 5); //magic number
-            sb.append("(").append(toString).append(")*(").append(scalar.toString()).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.MULTIPLY,this,node(scalar),null);
         }
         
         @Override
@@ -312,28 +613,18 @@ public abstract class Expressions {
 
         @Override
         public Scalar divide(int scalar) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).divide(factory.of(scalar));
-            String i = Integer.toString(scalar);
-            StringBuilder sb = new StringBuilder(toString.length() + i.length() + 5); //magic number
-            sb.append("(").append(toString).append(")/(").append(i).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.DIVIDE,this,take(scalar),null);
         }
 
         @Override
         public Scalar divide(String scalar) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).divide(factory.of(scalar));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.length() + 5); //magic number
-            sb.append("(").append(toString).append(")/(").append(scalar).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.DIVIDE,this,take(scalar),null);
         }
         
         @Override
         public Scalar divide(Scalar scalar) 
                 throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).divide(scalar.using(factory));
-            StringBuilder sb = new StringBuilder(toString.length() + scalar.toString().length() + 5); //magic number
-            sb.append("(").append(toString).append(")/(").append(scalar.toString()).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.DIVIDE,this,node(scalar),null);
         }
         
         @Override
@@ -371,122 +662,133 @@ public abstract class Expressions {
 
         @Override
         public Scalar power(int exponent) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).power(factory.of(exponent));
-            String i = Integer.toString(exponent);
-            StringBuilder sb = new StringBuilder(toString.length() + i.length() + 5); //magic number
-            sb.append("(").append(toString).append(")^(").append(i).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.POWER,this,take(exponent),null);
         }
 
         @Override
         public Scalar power(String exponent) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).power(factory.of(exponent));
-            StringBuilder sb = new StringBuilder(toString.length() + exponent.length() + 5); //magic number
-            sb.append("(").append(toString).append(")^(").append(exponent).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.POWER,this,take(exponent),null);
         }
 
         @Override
         public Scalar power(Scalar exponent) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).power(exponent.using(factory));
-            StringBuilder sb = new StringBuilder(toString.length() + exponent.toString().length() + 5); //magic number
-            sb.append("(").append(toString).append(")^(").append(exponent.toString()).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.POWER,this,node(exponent),null);
         }
         
         @Override
         public Scalar power(Exponent exponent) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).power(exponent);
-            String i = exponent.denominator() == 1 ? 
-                       Integer.toString(exponent.numerator()) :
-                       Integer.toString(exponent.numerator()) + "/" + Integer.toString(exponent.denominator());
-            StringBuilder sb = new StringBuilder(toString.length() + i.length() + 5); //magic number
-            sb.append("(").append(toString).append(")^(").append(i).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return fold(Op.POWER_EXPONENT,this,null,exponent);
         }
 
         @Override
         public Scalar logarithm(int base) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).logarithm(factory.of(base));
-            String i = Integer.toString(base);
-            StringBuilder sb = new StringBuilder(toString.length() + i.length() + 6); //magic number
-            sb.append("log_").append(i).append("(").append(toString).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return new ScalarImpl(Op.LOGARITHM,this,take(base),null);
         }
 
         @Override
         public Scalar logarithm(String base) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).logarithm(factory.of(base));
-            StringBuilder sb = new StringBuilder(toString.length() + base.length() + 6); //magic number
-            sb.append("log_").append(base).append("(").append(toString).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return new ScalarImpl(Op.LOGARITHM,this,take(base),null);
         }
 
         @Override
         public Scalar logarithm(Scalar base) throws ArithmeticException {
-            Function<Field.Factory,Field> g = (factory) -> using(factory).logarithm(base.using(factory));
-            StringBuilder sb = new StringBuilder(toString.length() + base.toString().length() + 6); //magic number
-            sb.append("log_").append(base.toString()).append("(").append(toString).append(")");
-            return new ScalarImpl(g,sb.toString());
+            return new ScalarImpl(Op.LOGARITHM,this,node(base),null);
         }
   
         @Override
         public <T extends Field<T>> T using(T.Factory<T> factory) {
-            return (T)memo.computeIfAbsent(factory,(x) -> function.apply(x));
+            Field v = memo.get(factory);
+            if (v != null)
+                return (T)v;
+            return (T)new Evaluation(factory).evaluate(this);
         }
-    }
-    
-    private static final class ExpressionImpl implements Expression {
         
-        private static final ExpressionImpl take(int value, Unit unit) {
-            return new ExpressionImpl( (factory) -> 
-                    MeasureImpl.take(value,unit,factory), unit.getDimension());
+        private Field memoize(Field.Factory factory, Field value) {
+            if (left == null || memoizingIntermediates)
+                return memo.putIfAbsent(factory,value);
+            return value;
         }
         
-        private static final ExpressionImpl take(String value, Unit unit) {
-            return new ExpressionImpl( (factory) -> 
-                    MeasureImpl.take(value,unit,factory), unit.getDimension());
+        /**
+         * Returns <i>&pi;</i> in the field of the specified factory.
+         */
+        private static Field pi(Field.Factory factory) {
+            if (factory instanceof ExactScale)
+                return ExactScale.PI;
+            return factory.of(Units.PI);
         }
         
-        private static final ExpressionImpl take(Scalar value, Unit unit) {
-            return new ExpressionImpl( (factory) -> 
-                    MeasureImpl.take(value.using(factory),unit), unit.getDimension());
+        /**
+         * Applies a scalar operation to the values of its operands.
+         */
+        private static Field apply(Op op, Field.Factory factory, Field x, Field y, Object payload) {
+            switch (op) {
+                case INTEGER:
+                    return factory.of((Integer)payload);
+                case DECIMAL:
+                    return factory.of((String)payload);
+                case RATIONAL:
+                    return ((Rational)payload).using(factory);
+                case PI:
+                    return pi(factory);
+                case SCALAR:
+                    return ((Scalar)payload).using(factory);
+                case NEGATE:
+                    return x.negate();
+                case RECIPROCAL:
+                    return x.reciprocal();
+                case ADD:
+                    return x.add(y);
+                case SUBTRACT:
+                    return x.subtract(y);
+                case MULTIPLY:
+                    return x.multiply(y);
+                case DIVIDE:
+                    return x.divide(y);
+                case POWER:
+                    return x.power(y);
+                case POWER_EXPONENT:
+                    return x.power((Exponent)payload);
+                case LOGARITHM:
+                    return x.logarithm(y);
+                default:
+                    throw new IllegalStateException("Not a scalar operation: " + op);
+            }
         }
+    }
+    
+
+    /**
+     * Base class of expressions whose operations extend the tree of nodes 
+     * rooted at {@link #node()}.
+     */
+    private static abstract class AbstractExpression implements Expression {
         
-        private final Map<Field.Factory,Measure> memo;
-        private final Function<Field.Factory,Measure> function;
-        private final Dimension dimension;
-        
-        private ExpressionImpl(Function<Field.Factory,Measure> function, Dimension dimension) {
-            this.memo = new ConcurrentHashMap<>();
-            this.function = function;
-            this.dimension = dimension;
-        }
+        /**
+         * Returns the node representing this expression in a tree of operations.
+         */
+        abstract ExpressionImpl node();
         
-        @Override
-        public Dimension getDimension() {
-            return dimension;
+        private ExpressionImpl extend(Op op, ExpressionImpl right, ScalarImpl scalar, Object payload, Unit unit, Dimension dimension) {
+            return new ExpressionImpl(op,node(),right,scalar,payload,unit,dimension);
         }
 
         @Override
         public Expression add(int value, Unit unit) {
             Dimension.assertCommensurable(getDimension(),unit.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).add(value,unit);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.ADD_VALUE,null,null,value,unit,getDimension());
         }
 
         @Override
         public Expression add(String value, Unit unit) {
             Dimension.assertCommensurable(getDimension(),unit.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).add(value,unit);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.ADD_VALUE,null,null,value,unit,getDimension());
         }
         
         @Override
         public Expression add(Scalar value, Unit unit) {
             Dimension.assertCommensurable(getDimension(),unit.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).add(value,unit);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.ADD_VALUE,null,ScalarImpl.node(value),value,unit,getDimension());
         }
 
         @Override
@@ -503,29 +805,25 @@ public abstract class Expressions {
         @Override
         public Expression add(Expression expression) {
             Dimension.assertCommensurable(getDimension(),expression.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).add(expression);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.ADD_EXPRESSION,ExpressionImpl.node(expression),null,expression,null,getDimension());
         }
 
         @Override
         public Expression subtract(int value, Unit unit) {
             Dimension.assertCommensurable(getDimension(),unit.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).subtract(value,unit);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.SUBTRACT_VALUE,null,null,value,unit,getDimension());
         }
 
         @Override
         public Expression subtract(String value, Unit unit) {
             Dimension.assertCommensurable(getDimension(),unit.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).subtract(value,unit);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.SUBTRACT_VALUE,null,null,value,unit,getDimension());
         }
 
         @Override
         public Expression subtract(Scalar value, Unit unit) {
             Dimension.assertCommensurable(getDimension(),unit.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).subtract(value,unit);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.SUBTRACT_VALUE,null,ScalarImpl.node(value),value,unit,getDimension());
         }
         
         @Override
@@ -542,26 +840,22 @@ public abstract class Expressions {
         @Override
         public Expression subtract(Expression expression) {
             Dimension.assertCommensurable(getDimension(),expression.getDimension());
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).subtract(expression);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.SUBTRACT_EXPRESSION,ExpressionImpl.node(expression),null,expression,null,getDimension());
         }
         
         @Override
         public Expression multiply(int scalar) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).multiply(scalar);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.MULTIPLY_SCALAR,null,null,scalar,null,getDimension());
         }
 
         @Override
         public Expression multiply(String scalar) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).multiply(scalar);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.MULTIPLY_SCALAR,null,null,scalar,null,getDimension());
         }
 
         @Override
         public Expression multiply(Scalar scalar) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).multiply(scalar);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.MULTIPLY_SCALAR,null,ScalarImpl.node(scalar),scalar,null,getDimension());
         }
         
         @Override
@@ -571,23 +865,20 @@ public abstract class Expressions {
 
         @Override
         public Expression multiply(int value,Unit unit) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).multiply(value,unit);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(unit.getDimension()).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.product(getDimension(),unit.getDimension());
+            return extend(Op.MULTIPLY_VALUE,null,null,value,unit,d);
         }
 
         @Override
         public Expression multiply(String value,Unit unit) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).multiply(value,unit);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(unit.getDimension()).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.product(getDimension(),unit.getDimension());
+            return extend(Op.MULTIPLY_VALUE,null,null,value,unit,d);
         }
         
         @Override
         public Expression multiply(Scalar value,Unit unit) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).multiply(value,unit);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(unit.getDimension()).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.product(getDimension(),unit.getDimension());
+            return extend(Op.MULTIPLY_VALUE,null,ScalarImpl.node(value),value,unit,d);
         }
 
         @Override
@@ -602,27 +893,23 @@ public abstract class Expressions {
 
         @Override
         public Expression multiply(Expression expression) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).multiply(expression);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(expression.getDimension()).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.product(getDimension(),expression.getDimension());
+            return extend(Op.MULTIPLY_EXPRESSION,ExpressionImpl.node(expression),null,expression,null,d);
         }
 
         @Override
         public Expression divide(int scalar) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).divide(scalar);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.DIVIDE_SCALAR,null,null,scalar,null,getDimension());
         }
 
         @Override
         public Expression divide(String scalar) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).divide(scalar);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.DIVIDE_SCALAR,null,null,scalar,null,getDimension());
         }
 
         @Override
         public Expression divide(Scalar scalar) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).divide(scalar);
-            return new ExpressionImpl(g,getDimension());
+            return extend(Op.DIVIDE_SCALAR,null,ScalarImpl.node(scalar),scalar,null,getDimension());
         }
         
         @Override
@@ -632,23 +919,20 @@ public abstract class Expressions {
 
         @Override
         public Expression divide(int value,Unit unit) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).divide(value,unit);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(unit.getDimension(),-1).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.quotient(getDimension(),unit.getDimension());
+            return extend(Op.DIVIDE_VALUE,null,null,value,unit,d);
         }
 
         @Override
         public Expression divide(String value,Unit unit) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).divide(value,unit);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(unit.getDimension(),-1).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.quotient(getDimension(),unit.getDimension());
+            return extend(Op.DIVIDE_VALUE,null,null,value,unit,d);
         }
         
         @Override
         public Expression divide(Scalar value,Unit unit) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).divide(value,unit);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(unit.getDimension(),-1).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.quotient(getDimension(),unit.getDimension());
+            return extend(Op.DIVIDE_VALUE,null,ScalarImpl.node(value),value,unit,d);
         }
 
         @Override
@@ -663,21 +947,685 @@ public abstract class Expressions {
 
         @Override
         public Expression divide(Expression expression) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).divide(expression);
-            Dimension d = Dimensions.newDimension().append(getDimension()).append(expression.getDimension(),-1).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.quotient(getDimension(),expression.getDimension());
+            return extend(Op.DIVIDE_EXPRESSION,ExpressionImpl.node(expression),null,expression,null,d);
         }
         
         @Override
         public Expression power(Exponent exponent) {
-            Function<Field.Factory,Measure> g = (factory) -> using(factory).power(exponent);
-            Dimension d = Dimensions.newDimension().append(getDimension(),exponent).create();
-            return new ExpressionImpl(g,d);
+            Dimension d = Dimensions.power(getDimension(),exponent);
+            return extend(Op.POWER_MEASURE,null,null,exponent,null,d);
+        }
+    }
+    
+    /**
+     * An expression recorded as a node of an operation on its operands.  Leaves 
+     * are measures of a scalar and a unit, functions of a field factory, and 
+     * expressions of other implementations.
+     * 
+     * <p>The payload of an operation node is the argument of the operation as
+     * it was specified, so that particularizing the node invokes the same method
+     * of the measure of its left operand.
+     */
+    private static final class ExpressionImpl extends AbstractExpression {
+        
+        private static final ExpressionImpl take(int value, Unit unit) {
+            return take(ScalarImpl.take(value),unit);
+        }
+        
+        private static final ExpressionImpl take(String value, Unit unit) {
+            return take(ScalarImpl.take(value),unit);
+        }
+        
+        private static final ExpressionImpl take(Scalar value, Unit unit) {
+            return new ExpressionImpl(Op.MEASURE,null,null,ScalarImpl.node(value),null,unit,unit.getDimension());
+        }
+        
+        private static ExpressionImpl node(Expression expression) {
+            if (expression instanceof AbstractExpression)
+                return ((AbstractExpression)expression).node();
+            return new ExpressionImpl(Op.EXPRESSION,null,null,null,expression,null,expression.getDimension());
+        }
+        
+        private final Memo<Measure> memo;
+        private final Op op;
+        private final ExpressionImpl left, right;
+        private final ScalarImpl scalar;
+        private final Object payload;
+        private final Unit unit;
+        private final Dimension dimension;
+        
+        private ExpressionImpl(Op op, 
+                               ExpressionImpl left, 
+                               ExpressionImpl right, 
+                               ScalarImpl scalar,
+                               Object payload, 
+                               Unit unit, 
+                               Dimension dimension) {
+            this.memo = new Memo<>();
+            this.op = op;
+            this.left = left;
+            this.right = right;
+            this.scalar = scalar;
+            this.payload = payload;
+            this.unit = unit;
+            this.dimension = dimension;
+        }
+        
+        @Override
+        ExpressionImpl node() {
+            return this;
+        }
+        
+        @Override
+        public Dimension getDimension() {
+            return dimension;
+        }
+        
+        @Override
+        public Expression compile() {
+            return new CompiledExpression(this);
+        }
+    
+        @Override
+        public <T extends Field<T>> Measure<T> using(T.Factory<T> factory) {
+            Measure m = memo.get(factory);
+            if (m != null)
+                return m;
+            return (Measure)new Evaluation(factory).evaluate(this);
+        }
+        
+        private Measure memoize(Field.Factory factory, Measure value) {
+            if (left == null || memoizingIntermediates)
+                return memo.putIfAbsent(factory,value);
+            return value;
+        }
+        
+        /**
+         * Evaluates this node from the measure of its left operand and the 
+         * particularized argument of its operation, i.e. the measure of its right
+         * operand or the field of its scalar.  Where the measure is not of this
+         * implementation or not of the specified factory, the argument is
+         * ignored and the operation is applied to its payload.
+         */
+        private Measure evaluate(Field.Factory factory, Measure m, Object argument) {
+            switch (op) {
+                case MEASURE:
+                    return MeasureImpl.take((Field)argument,unit);
+                case FUNCTION:
+                    return ((Function<Field.Factory,Measure>)payload).apply(factory);
+                case EXPRESSION:
+                    return ((Expression)payload).using(factory);
+                default:
+                    if (argument != null 
+                            && m instanceof MeasureImpl 
+                            && factory.equals(m.getFactory()))
+                        return applyArgument(op,m,argument,unit);
+                    return apply(op,m,payload,unit);
+            }
+        }
+        
+        /**
+         * Applies an expression operation to the measure of its left operand 
+         * and its particularized argument.
+         */
+        private static Measure applyArgument(Op op, Measure m, Object argument, Unit unit) {
+            switch (op) {
+                case ADD_VALUE:
+                    return m.add((Field)argument,unit);
+                case ADD_EXPRESSION:
+                    return m.add((Measure)argument);
+                case SUBTRACT_VALUE:
+                    return m.subtract((Field)argument,unit);
+                case SUBTRACT_EXPRESSION:
+                    return m.subtract((Measure)argument);
+                case MULTIPLY_SCALAR:
+                    return m.multiply((Field)argument);
+                case MULTIPLY_VALUE:
+                    return m.multiply((Field)argument,unit);
+                case MULTIPLY_EXPRESSION:
+                    return m.multiply((Measure)argument);
+                case DIVIDE_SCALAR:
+                    return m.divide((Field)argument);
+                case DIVIDE_VALUE:
+                    return m.divide((Field)argument,unit);
+                case DIVIDE_EXPRESSION:
+                    return m.divide((Measure)argument);
+                default:
+                    throw new IllegalStateException("Not an operation on an argument: " + op);
+            }
+        }
+        
+        /**
+         * Applies an expression operation to the measure of its left operand 
+         * by invoking the method of the measure corresponding to the operation.
+         */
+        private static Measure apply(Op op, Measure m, Object payload, Unit unit) {
+            switch (op) {
+                case ADD_VALUE:
+                    if (payload instanceof Integer)
+                        return m.add((int)payload,unit);
+                    if (payload instanceof String)
+                        return m.add((String)payload,unit);
+                    return m.add((Scalar)payload,unit);
+                case ADD_EXPRESSION:
+                    return m.add((Expression)payload);
+                case SUBTRACT_VALUE:
+                    if (payload instanceof Integer)
+                        return m.subtract((int)payload,unit);
+                    if (payload instanceof String)
+                        return m.subtract((String)payload,unit);
+                    return m.subtract((Scalar)payload,unit);
+                case SUBTRACT_EXPRESSION:
+                    return m.subtract((Expression)payload);
+                case MULTIPLY_SCALAR:
+                    if (payload instanceof Integer)
+                        return m.multiply((int)payload);
+                    if (payload instanceof String)
+                        return m.multiply((String)payload);
+                    return m.multiply((Scalar)payload);
+                case MULTIPLY_VALUE:
+                    if (payload instanceof Integer)
+                        return m.multiply((int)payload,unit);
+                    if (payload instanceof String)
+                        return m.multiply((String)payload,unit);
+                    return m.multiply((Scalar)payload,unit);
+                case MULTIPLY_EXPRESSION:
+                    return m.multiply((Expression)payload);
+                case DIVIDE_SCALAR:
+                    if (payload instanceof Integer)
+                        return m.divide((int)payload);
+                    if (payload instanceof String)
+                        return m.divide((String)payload);
+                    return m.divide((Scalar)payload);
+                case DIVIDE_VALUE:
+                    if (payload instanceof Integer)
+                        return m.divide((int)payload,unit);
+                    if (payload instanceof String)
+                        return m.divide((String)payload,unit);
+                    return m.divide((Scalar)payload,unit);
+                case DIVIDE_EXPRESSION:
+                    return m.divide((Expression)payload);
+                case POWER_MEASURE:
+                    return m.power((Exponent)payload);
+                default:
+                    throw new IllegalStateException("Not an expression operation: " + op);
+            }
+        }
+    }
+    
+    /**
+     * A particularization of the nodes of a scalar or an expression to a field
+     * factory.  Nodes are evaluated in post-order from an explicit stack, so 
+     * that the depth of a tree is limited by the heap rather than the stack of 
+     * the calling thread.  Nodes whose values are memoized are not descended 
+     * into, and nodes shared by several operands are evaluated once per 
+     * evaluation regardless of whether intermediates are memoized.
+     */
+    private static final class Evaluation {
+        
+        private final Field.Factory factory;
+        private final boolean memoizing;
+        private final Map<Object,Object> values;
+        private final Deque<Object> stack;
+        
+        private Evaluation(Field.Factory factory) {
+            this(factory,true);
+        }
+        
+        /**
+         * Creates an evaluation which, if not memoizing, neither consults nor
+         * fills the memos of the nodes it evaluates.
+         */
+        private Evaluation(Field.Factory factory, boolean memoizing) {
+            this.factory = factory;
+            this.memoizing = memoizing;
+            this.values = new IdentityHashMap<>();
+            this.stack = new ArrayDeque<>();
+        }
+        
+        private Object evaluate(Object root) {
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Object node = stack.peek();
+                if (values.containsKey(node)) {
+                    stack.pop();
+                    continue;
+                }
+                boolean ready;
+                if (node instanceof ScalarImpl) {
+                    ScalarImpl s = (ScalarImpl)node;
+                    ready = visit(s.left) & visit(s.right);
+                } else {
+                    ExpressionImpl e = (ExpressionImpl)node;
+                    ready = visit(e.left) & visit(e.right) & visit(e.scalar);
+                }
+                if (!ready)
+                    continue;
+                stack.pop();
+                values.put(node,value(node));
+            }
+            return values.get(root);
         }
+        
+        /**
+         * Returns whether the value of the specified operand is available, 
+         * pushing the operand onto the stack where it is not.
+         */
+        private boolean visit(Object operand) {
+            if (operand == null || values.containsKey(operand))
+                return true;
+            Object v = !memoizing ? null :
+                       operand instanceof ScalarImpl ?
+                       ((ScalarImpl)operand).memo.get(factory) :
+                       ((ExpressionImpl)operand).memo.get(factory);
+            if (v != null) {
+                values.put(operand,v);
+                return true;
+            }
+            stack.push(operand);
+            return false;
+        }
+        
+        private Object value(Object node) {
+            if (node instanceof ScalarImpl) {
+                ScalarImpl s = (ScalarImpl)node;
+                Field x = (Field)values.get(s.left);
+                Field y = (Field)values.get(s.right);
+                Field v = ScalarImpl.apply(s.op,factory,x,y,s.payload);
+                return memoizing ? s.memoize(factory,v) : v;
+            }
+            ExpressionImpl e = (ExpressionImpl)node;
+            Measure m = (Measure)values.get(e.left);
+            Object argument = e.right != null ? values.get(e.right) : values.get(e.scalar);
+            Measure v = e.evaluate(factory,m,argument);
+            return memoizing ? e.memoize(factory,v) : v;
+        }
+    }
     
+    /**
+     * An expression flattened into a linear program of instructions.
+     * 
+     * <p>The nodes of the tree of an expression are ordered such that every 
+     * instruction follows the instructions of its operands, and equivalent 
+     * nodes are reduced to a single instruction.  The units of the results of 
+     * instructions are resolved when the program is compiled.  Literals and 
+     * conversion factors are particularized once per field factory.  Executing
+     * the program evaluates each instruction once into a register, without
+     * consulting the memos of the nodes of the tree.
+     * 
+     * <p>Where the left operand of an instruction is a measure of another 
+     * implementation, e.g. the result of a function, the instruction invokes 
+     * the method of the measure corresponding to the operation, as the tree 
+     * would.  Where it is in a unit other than its resolved unit, the units of
+     * the instruction are resolved at evaluation.
+     */
+    private static final class CompiledExpression extends AbstractExpression {
+        
+        private static final int NONE = -1; //magic number
+        
+        private final ExpressionImpl root;
+        private final Memo<Field[]> links;
+        private final Op[] ops;
+        private final int[] left, right, argument;
+        private final Object[] payloads;
+        private final Unit[] units, resultUnits;
+        
+        private CompiledExpression(ExpressionImpl root) {
+            this.root = root;
+            this.links = new Memo<>();
+            Compiler c = new Compiler();
+            c.compile(root);
+            int n = c.ops.size();
+            this.ops = c.ops.toArray(new Op[n]);
+            this.left = toArray(c.left);
+            this.right = toArray(c.right);
+            this.argument = toArray(c.argument);
+            this.payloads = c.payloads.toArray();
+            this.units = c.units.toArray(new Unit[n]);
+            this.resultUnits = c.resultUnits.toArray(new Unit[n]);
+        }
+        
+        private static int[] toArray(List<Integer> list) {
+            int[] a = new int[list.size()];
+            for (int i = 0; i < a.length; i++)
+                a[i] = list.get(i);
+            return a;
+        }
+        
+        @Override
+        ExpressionImpl node() {
+            return root;
+        }
+        
+        @Override
+        public Dimension getDimension() {
+            return root.getDimension();
+        }
+        
+        @Override
+        public Expression compile() {
+            return this;
+        }
+        
         @Override
         public <T extends Field<T>> Measure<T> using(T.Factory<T> factory) {
-            return memo.computeIfAbsent(factory,(x) -> function.apply(x));
+            Field[] link = links.get(factory);
+            if (link == null)
+                link = links.putIfAbsent(factory,link(factory));
+            Object[] r = new Object[ops.length];
+            for (int i = 0; i < ops.length; i++)
+                r[i] = execute(i,factory,link,r);
+            return (Measure<T>)r[r.length - 1];
+        }
+        
+        private Field[] link(Field.Factory factory) {
+            Field[] link = new Field[ops.length];
+            for (int i = 0; i < ops.length; i++) {
+                switch (ops[i]) {
+                    case INTEGER:
+                        link[i] = factory.of((Integer)payloads[i]);
+                        break;
+                    case DECIMAL:
+                        link[i] = factory.of((String)payloads[i]);
+                        break;
+                    case RATIONAL:
+                        link[i] = ((Rational)payloads[i]).using(factory);
+                        break;
+                    case PI:
+                        link[i] = ScalarImpl.pi(factory);
+                        break;
+                    case ADD_VALUE:
+                    case SUBTRACT_VALUE:
+                        link[i] = factor(units[i],resultUnits[left[i]],factory);
+                        break;
+                    case ADD_EXPRESSION:
+                    case SUBTRACT_EXPRESSION:
+                        link[i] = factor(resultUnits[right[i]],resultUnits[left[i]],factory);
+                        break;
+                    default:
+                        break;
+                }
+            }
+            return link;
+        }
+        
+        private static Field factor(Unit from, Unit to, Field.Factory factory) {
+            if (from == null || to == null || from.equals(to))
+                return null;
+            return Conversions.factor(from,to,factory);
+        }
+        
+        private Object execute(int i, Field.Factory factory, Field[] link, Object[] r) {
+            Op op = ops[i];
+            switch (op) {
+                case INTEGER:
+                case DECIMAL:
+                case RATIONAL:
+                case PI:
+                    return link[i];
+                case SCALAR:
+                case NEGATE:
+                case RECIPROCAL:
+                case ADD:
+                case SUBTRACT:
+                case MULTIPLY:
+                case DIVIDE:
+                case POWER:
+                case POWER_EXPONENT:
+                case LOGARITHM:
+                    Field x = left[i] == NONE ? null : (Field)r[left[i]];
+                    Field y = right[i] == NONE ? null : (Field)r[right[i]];
+                    return ScalarImpl.apply(op,factory,x,y,payloads[i]);
+                case MEASURE:
+                    return MeasureImpl.take((Field)r[argument[i]],units[i]);
+                case FUNCTION:
+                    return ((Function<Field.Factory,Measure>)payloads[i]).apply(factory);
+                case EXPRESSION:
+                    return ((Expression)payloads[i]).using(factory);
+                default:
+                    return combine(i,(Measure)r[left[i]],factory,link,r);
+            }
+        }
+        
+        private Measure combine(int i, Measure m, Field.Factory factory, Field[] link, Object[] r) {
+            if (!(m instanceof MeasureImpl))
+                return ExpressionImpl.apply(ops[i],m,payloads[i],units[i]);
+            Unit lu = m.getUnit();
+            boolean resolved = lu == resultUnits[left[i]];
+            Field x = m.getField();
+            switch (ops[i]) {
+                case ADD_VALUE:
+                    return MeasureImpl.take(x.add(value(i,lu,resolved,factory,link,r)),lu);
+                case SUBTRACT_VALUE:
+                    return MeasureImpl.take(x.subtract(value(i,lu,resolved,factory,link,r)),lu);
+                case ADD_EXPRESSION:
+                    return MeasureImpl.take(x.add(operand(i,(Measure)r[right[i]],lu,resolved,link)),lu);
+                case SUBTRACT_EXPRESSION:
+                    return MeasureImpl.take(x.subtract(operand(i,(Measure)r[right[i]],lu,resolved,link)),lu);
+                case MULTIPLY_SCALAR:
+                    return MeasureImpl.take(x.multiply((Field)r[argument[i]]),
+                            resolved ? resultUnits[i] : Units.newUnit().as(lu).multiply(Units.UNITLESS).create());
+                case MULTIPLY_VALUE:
+                    return MeasureImpl.take(x.multiply((Field)r[argument[i]]),
+                            resolved ? resultUnits[i] : Units.newUnit().as(lu).multiply(units[i]).create());
+                case DIVIDE_SCALAR:
+                    return MeasureImpl.take(x.divide((Field)r[argument[i]]),
+                            resolved ? resultUnits[i] : Units.newUnit().as(lu).divide(Units.UNITLESS).create());
+                case DIVIDE_VALUE:
+                    return MeasureImpl.take(x.divide((Field)r[argument[i]]),
+                            resolved ? resultUnits[i] : Units.newUnit().as(lu).divide(units[i]).create());
+                case MULTIPLY_EXPRESSION: {
+                    Measure y = (Measure)r[right[i]];
+                    Unit u = resolved && y.getUnit() == resultUnits[right[i]] ? 
+                             resultUnits[i] : 
+                             Units.newUnit().as(lu).multiply(y.getUnit()).create();
+                    return MeasureImpl.take(x.multiply(y.getField()),u);
+                }
+                case DIVIDE_EXPRESSION: {
+                    Measure y = (Measure)r[right[i]];
+                    Unit u = resolved && y.getUnit() == resultUnits[right[i]] ? 
+                             resultUnits[i] : 
+                             Units.newUnit().as(lu).divide(y.getUnit()).create();
+                    return MeasureImpl.take(x.divide(y.getField()),u);
+                }
+                case POWER_MEASURE:
+                    return MeasureImpl.take(x.power((Exponent)payloads[i]),
+                            resolved ? resultUnits[i] : Units.newUnit().as(lu,(Exponent)payloads[i]).create());
+                default:
+                    throw new IllegalStateException("Not an expression operation: " + ops[i]);
+            }
+        }
+        
+        private static Field convert(Field value, Field factor) {
+            return factor == null ? value : value.multiply(factor);
+        }
+        
+        /**
+         * Returns the value of the argument of an instruction expressed in the 
+         * unit of the left operand.
+         */
+        private Field value(int i, Unit lu, boolean resolved, Field.Factory factory, Field[] link, Object[] r) {
+            Field v = (Field)r[argument[i]];
+            return convert(v,resolved ? link[i] : factor(units[i],lu,factory));
+        }
+        
+        /**
+         * Returns the value of the right operand of an instruction expressed 
+         * in the unit of the left operand.
+         */
+        private Field operand(int i, Measure y, Unit lu, boolean resolved, Field[] link) {
+            if (resolved && y instanceof MeasureImpl && y.getUnit() == resultUnits[right[i]])
+                return convert(y.getField(),link[i]);
+            return y.as(lu).getField();
+        }
+    }
+    
+    /**
+     * Flattens a tree of nodes into the instructions of a {@link CompiledExpression}.
+     * Nodes are visited in post-order without recursion; equivalent nodes are 
+     * identified by their operation, payload, operands and unit.
+     */
+    private static final class Compiler {
+        
+        private final List<Op> ops = new ArrayList<>();
+        private final List<Integer> left = new ArrayList<>();
+        private final List<Integer> right = new ArrayList<>();
+        private final List<Integer> argument = new ArrayList<>();
+        private final List<Object> payloads = new ArrayList<>();
+        private final List<Unit> units = new ArrayList<>();
+        private final List<Unit> resultUnits = new ArrayList<>();
+        
+        private final Map<Object,Integer> slots = new IdentityHashMap<>();
+        private final Map<ExpressionImpl,ScalarImpl> literals = new IdentityHashMap<>();
+        private final Map<List<Object>,Integer> instructions = new HashMap<>();
+        
+        private void compile(ExpressionImpl root) {
+            Deque<Object> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Object node = stack.peek();
+                if (slots.containsKey(node)) {
+                    stack.pop();
+                    continue;
+                }
+                Object pending = null;
+                for (Object child : children(node)) {
+                    if (child != null && !slots.containsKey(child)) {
+                        pending = child;
+                        break;
+                    }
+                }
+                if (pending != null) {
+                    stack.push(pending);
+                } else {
+                    stack.pop();
+                    slots.put(node,emit(node));
+                }
+            }
+        }
+        
+        private Object[] children(Object node) {
+            if (node instanceof ScalarImpl) {
+                ScalarImpl s = (ScalarImpl)node;
+                return new Object[] {s.left,s.right};
+            }
+            ExpressionImpl e = (ExpressionImpl)node;
+            return new Object[] {e.left,e.right,argument(e)};
+        }
+        
+        /**
+         * Returns the scalar node of the argument of an expression node, 
+         * creating a literal node for an integer or decimal argument.
+         */
+        private ScalarImpl argument(ExpressionImpl e) {
+            if (e.scalar != null)
+                return e.scalar;
+            if (e.payload instanceof Integer || e.payload instanceof String)
+                return literals.computeIfAbsent(e,(x) -> x.payload instanceof Integer ?
+                                                        ScalarImpl.take((Integer)x.payload) :
+                                                        ScalarImpl.take((String)x.payload));
+            return null;
+        }
+        
+        private int slot(Object node) {
+            return node == null ? CompiledExpression.NONE : slots.get(node);
+        }
+        
+        private int emit(Object node) {
+            Op op;
+            int l, r, a;
+            Object payload;
+            Unit unit;
+            if (node instanceof ScalarImpl) {
+                ScalarImpl s = (ScalarImpl)node;
+                op = s.op;
+                l = slot(s.left);
+                r = slot(s.right);
+                a = CompiledExpression.NONE;
+                payload = s.payload;
+                unit = null;
+            } else {
+                ExpressionImpl e = (ExpressionImpl)node;
+                op = e.op;
+                l = slot(e.left);
+                r = slot(e.right);
+                a = slot(argument(e));
+                payload = e.payload;
+                unit = e.unit;
+            }
+            Object key = isArgument(op) ? null : payload;
+            List<Object> k = Arrays.asList(op,key,l,r,a,unit);
+            Integer existing = instructions.get(k);
+            if (existing != null)
+                return existing;
+            int i = ops.size();
+            ops.add(op);
+            left.add(l);
+            right.add(r);
+            argument.add(a);
+            payloads.add(payload);
+            units.add(unit);
+            resultUnits.add(resultUnit(op,l,r,payload,unit));
+            instructions.put(k,i);
+            return i;
+        }
+        
+        /**
+         * Returns whether the payload of an operation is an argument that is 
+         * also represented by an operand of the instruction.
+         */
+        private static boolean isArgument(Op op) {
+            switch (op) {
+                case ADD_VALUE:
+                case ADD_EXPRESSION:
+                case SUBTRACT_VALUE:
+                case SUBTRACT_EXPRESSION:
+                case MULTIPLY_SCALAR:
+                case MULTIPLY_VALUE:
+                case MULTIPLY_EXPRESSION:
+                case DIVIDE_SCALAR:
+                case DIVIDE_VALUE:
+                case DIVIDE_EXPRESSION:
+                    return true;
+                default:
+                    return false;
+            }
+        }
+        
+        /**
+         * Resolves the unit of the result of an instruction, as the 
+         * corresponding operation of a measure would create it, or returns 
+         * {@code null} if the unit is only known at evaluation.
+         */
+        private Unit resultUnit(Op op, int l, int r, Object payload, Unit unit) {
+            Unit lu = l == CompiledExpression.NONE ? null : resultUnits.get(l);
+            Unit ru = r == CompiledExpression.NONE ? null : resultUnits.get(r);
+            switch (op) {
+                case MEASURE:
+                    return unit;
+                case ADD_VALUE:
+                case ADD_EXPRESSION:
+                case SUBTRACT_VALUE:
+                case SUBTRACT_EXPRESSION:
+                    return lu;
+                case MULTIPLY_SCALAR:
+                    return lu == null ? null : Units.newUnit().as(lu).multiply(Units.UNITLESS).create();
+                case DIVIDE_SCALAR:
+                    return lu == null ? null : Units.newUnit().as(lu).divide(Units.UNITLESS).create();
+                case MULTIPLY_VALUE:
+                    return lu == null ? null : Units.newUnit().as(lu).multiply(unit).create();
+                case DIVIDE_VALUE:
+                    return lu == null ? null : Units.newUnit().as(lu).divide(unit).create();
+                case MULTIPLY_EXPRESSION:
+                    return lu == null || ru == null ? null : Units.newUnit().as(lu).multiply(ru).create();
+                case DIVIDE_EXPRESSION:
+                    return lu == null || ru == null ? null : Units.newUnit().as(lu).divide(ru).create();
+                case POWER_MEASURE:
+                    return lu == null ? null : Units.newUnit().as(lu,(Exponent)payload).create();
+                default:
+                    return null;
+            }
         }
     }
     
@@ -732,7 +1680,7 @@ public abstract class Expressions {
         }
         
         private static <T extends Field<T>> T baseUnitValue(Measure<T> measure) {
-            return measure.getField().multiply(measure.getUnit().getScale());
+            return measure.getField().multiply(measure.getUnit().getScale(measure.getFactory()));
         }
         
         @Override
@@ -857,7 +1805,7 @@ public abstract class Expressions {
         @Override
         public Measure<F> multiply(Measure<F> measure) {
             F v = getField().multiply(measure.getField());
-            Unit u = Units.newUnit().as(getUnit()).multiply(measure.getUnit()).create();
+            Unit u = Units.product(getUnit(),measure.getUnit());
             return take(v,u);
         }
 
@@ -909,7 +1857,7 @@ public abstract class Expressions {
         @Override
         public Measure<F> divide(Measure<F> measure) {
             F v = getField().divide(measure.getField());
-            Unit u = Units.newUnit().as(getUnit()).divide(measure.getUnit()).create();
+            Unit u = Units.quotient(getUnit(),measure.getUnit());
             return take(v,u);
         }
 
@@ -921,14 +1869,15 @@ public abstract class Expressions {
         @Override
         public Measure<F> power(Exponent exponent) {
             F v = getField().power(exponent);
-            Unit u = Units.newUnit().as(getUnit(),exponent).create();
+            Unit u = Units.power(getUnit(),exponent);
             return take(v,u);
         }
 
         @Override
         public Measure<F> as(Unit unit) {
-            Dimension.assertCommensurable(getUnit().getDimension(),unit.getDimension());
-            F v = getField().multiply(getUnit().getScale().divide(unit.getScale()));
+            if (getUnit().equals(unit))
+                return this;
+            F v = getField().multiply(Conversions.factor(getUnit(),unit,getFactory()));
             return new MeasureImpl<>(v,unit);
         }
     }
@@ -0,0 +1,270 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * An exact rational number field.
+ *
+ * <p>Values are held as a reduced fraction of arbitrary-precision integers
+ * with a positive denominator.  Powers are defined for integral exponents only
+ * and logarithms are undefined; both throw an {@link ArithmeticException}
+ * otherwise, so that an evaluation in this field either succeeds exactly or
+ * fails.  The field is its own factory.
+ *
+ * @author andreww1011
+ */
+final class Rational implements Field<Rational>, Field.Factory<Rational> {
+    
+    /**
+     * The rational number zero (0/1).
+     */
+    static final Rational ZERO = new Rational(BigInteger.ZERO,BigInteger.ONE);
+    
+    /**
+     * The rational number one (1/1).
+     */
+    static final Rational ONE = new Rational(BigInteger.ONE,BigInteger.ONE);
+    
+    private static final BigInteger FIVE = BigInteger.valueOf(5); //magic number
+    
+    private final BigInteger numerator, denominator;
+    
+    private Rational(BigInteger numerator, BigInteger denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+    
+    /**
+     * Returns the factory of rational numbers.
+     *
+     * @return a {@link com.jamw.jmud.Rational} object
+     */
+    static Rational factory() {
+        return ZERO;
+    }
+    
+    /**
+     * Returns the rational number <i>numerator/denominator</i> in lowest terms.
+     *
+     * @param numerator the numerator.
+     * @param denominator the denominator.
+     * @return a {@link com.jamw.jmud.Rational} object
+     * @throws java.lang.ArithmeticException if the denominator is zero.
+     */
+    static Rational of(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0)
+            throw new ArithmeticException("Division by zero");
+        if (denominator.signum() < 0) {
+            numerator = numerator.negate();
+            denominator = denominator.negate();
+        }
+        BigInteger g = numerator.gcd(denominator);
+        if (!g.equals(BigInteger.ONE)) {
+            numerator = numerator.divide(g);
+            denominator = denominator.divide(g);
+        }
+        return new Rational(numerator,denominator);
+    }
+    
+    /**
+     * Returns the numerator of this rational number in lowest terms.
+     *
+     * @return a {@link java.math.BigInteger} object
+     */
+    BigInteger numerator() {
+        return numerator;
+    }
+    
+    /**
+     * Returns the positive denominator of this rational number in lowest terms.
+     *
+     * @return a {@link java.math.BigInteger} object
+     */
+    BigInteger denominator() {
+        return denominator;
+    }
+    
+    /**
+     * Returns true if this rational number has a finite decimal expansion,
+     * that is, if the only prime factors of its denominator are two and five.
+     *
+     * @return a boolean
+     */
+    boolean isTerminating() {
+        BigInteger d = denominator.shiftRight(denominator.getLowestSetBit());
+        while (d.mod(FIVE).signum() == 0)
+            d = d.divide(FIVE);
+        return d.equals(BigInteger.ONE);
+    }
+    
+    /**
+     * Returns the finite decimal expansion of this rational number.
+     *
+     * @return a string
+     * @throws java.lang.ArithmeticException if this rational number is not
+     * {@linkplain #isTerminating() terminating}.
+     */
+    String toDecimalString() {
+        return new BigDecimal(numerator).divide(new BigDecimal(denominator)).toPlainString();
+    }
+    
+    /**
+     * Returns this rational number particularized to the field of the 
+     * specified factory: the decimal value if it terminates, or else the
+     * numerator divided by the denominator.
+     *
+     * @param <F> the type of field.
+     * @param factory the factory of the field.
+     * @return a field
+     */
+    <F extends Field<F>> F using(Field.Factory<F> factory) {
+        if (isTerminating())
+            return factory.of(toDecimalString());
+        return factory.of(numerator.toString()).divide(factory.of(denominator.toString()));
+    }
+    
+    /**
+     * Returns a literal scalar of this rational number: a single decimal literal
+     * if the expansion terminates, or else the quotient of the numerator and
+     * the denominator.
+     *
+     * @return a {@link com.jamw.jmud.Scalar} object
+     */
+    Scalar toScalar() {
+        if (isTerminating())
+            return Expressions.take(toDecimalString());
+        return Expressions.take(numerator.toString()).divide(denominator.toString());
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational zero() {
+        return ZERO;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational one() {
+        return ONE;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational of(int value) {
+        return new Rational(BigInteger.valueOf(value),BigInteger.ONE);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational of(String value) throws NumberFormatException {
+        return of(new BigDecimal(value));
+    }
+    
+    /**
+     * Returns the rational number of the specified decimal in lowest terms.
+     *
+     * @param d a decimal.
+     * @return a {@link com.jamw.jmud.Rational} object
+     */
+    static Rational of(BigDecimal d) {
+        if (d.scale() <= 0)
+            return new Rational(d.toBigIntegerExact(),BigInteger.ONE);
+        return of(d.unscaledValue(),BigInteger.TEN.pow(d.scale()));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational getFactory() {
+        return ZERO;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational negate() {
+        return new Rational(numerator.negate(),denominator);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational reciprocal() throws ArithmeticException {
+        return of(denominator,numerator);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational add(Rational b) {
+        return of(numerator.multiply(b.denominator).add(b.numerator.multiply(denominator)),
+                  denominator.multiply(b.denominator));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational multiply(Rational b) {
+        return of(numerator.multiply(b.numerator),denominator.multiply(b.denominator));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational power(Rational exponent) throws ArithmeticException {
+        if (!exponent.denominator.equals(BigInteger.ONE))
+            throw new ArithmeticException("Non-integral power of a rational number");
+        int e = exponent.numerator.intValueExact();
+        Rational r = new Rational(numerator.pow(Math.abs(e)),denominator.pow(Math.abs(e)));
+        return e < 0 ? r.reciprocal() : r;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Rational logarithm(Rational base) throws ArithmeticException {
+        throw new ArithmeticException("Logarithm of a rational number");
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public int compareTo(Rational o) {
+        return numerator.multiply(o.denominator).compareTo(o.numerator.multiply(denominator));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof Rational))
+            return false;
+        Rational r = (Rational)o;
+        return numerator.equals(r.numerator) && denominator.equals(r.denominator);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return 31 * numerator.hashCode() + denominator.hashCode(); //magic number
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        if (denominator.equals(BigInteger.ONE))
+            return numerator.toString();
+        return numerator + "/" + denominator;
+    }
+}
@@ -17,10 +17,12 @@
  */
 package com.jamw.jmud;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.UnaryOperator;
 import static com.jamw.jmud.Constants.euler;
 import static com.jamw.jmud.Constants.ten;
-import java.util.Objects;
 
 /**
  * Factory class of common scales of measurement.
@@ -49,18 +51,129 @@ public abstract class Scales {
     public static final Scale FAHRENHEIT;
     
     static {
-        Scalar cs = Expressions.take("273.15");
-        CELSIUS         = new ScaleImpl("CELSIUS","C",Units.KELVIN,
-                                (Field k) -> k.subtract(cs.using(k.getFactory())),
-                                (Field c) -> c.add(cs.using(c.getFactory())));
-        Scalar fs = Expressions.take("459.67");
-        FAHRENHEIT       = new ScaleImpl("FAHRENHEIT","F",Units.RANKINE,
-                                (Field r) -> r.subtract(fs.using(r.getFactory())),
-                                (Field f) -> f.add(fs.using(f.getFactory())));
+        CELSIUS         = affine("CELSIUS","C",Units.KELVIN,Expressions.ONE,Expressions.take("-273.15"));
+        FAHRENHEIT      = affine("FAHRENHEIT","F",Units.RANKINE,Expressions.ONE,Expressions.take("-459.67"));
     }
     
+    /**
+     * The maximum number of conversion coefficients held by the cache.
+     */
+    static final int CAPACITY = 1024; //magic number
+    
+    private static final Map<Key,Field[]> COEFFICIENTS = new ConcurrentHashMap<>();
+    
     private Scales() {}
     
+    /**
+     * Returns an affine scale of the referenced unit with the specified name,
+     * symbol, slope and offset.  The specified name and symbol cannot be 
+     * <code>null</code> nor blank.
+     * 
+     * <p>Given a reference unit, <i>U<sub>ref</sub></i>, and a measure with a 
+     * commensurable unit, <i>M</i>, the level, <i>L</i>, is calculated by:
+     * 
+     * <p><i>L = a•(M/{1 U<sub>ref</sub>}) + b</i>,
+     * 
+     * <p>where <i>a</i> is the slope, <i>b</i> is the offset, and the braces {}
+     * indicate the measure of exactly 1 unit of <i>U<sub>ref</sub></i>.
+     * 
+     * @param name the name for the scale.
+     * @param symbol the symbol for the scale.
+     * @param referenceUnit a unit.
+     * @param slope the non-zero slope of the scale.
+     * @param offset the offset of the scale.
+     * @return an affine scale of the specified unit.
+     * @throws IllegalArgumentException if the slope is zero.
+     */
+    public static final AffineScale affine(String name, String symbol, Unit referenceUnit, Scalar slope, Scalar offset) {
+        return new AffineScaleImpl(name,symbol,referenceUnit,slope,offset);
+    }
+    
+    /**
+     * Returns a level of the specified scale equivalent to the specified level.
+     * 
+     * <p>If the scales of both levels are {@linkplain AffineScale affine}, the 
+     * level is calculated as <i>p•L + q</i>, where <i>L</i> is the value of the
+     * specified level and the coefficients <i>p</i> and <i>q</i> are held in a 
+     * shared, bounded cache keyed by the two scales and the field factory.
+     * Otherwise the level is calculated from the measure of the specified level.
+     *
+     * @param <T> the type of field in which to represent values.
+     * @param level a level.
+     * @param scale the scale of the returned level.
+     * @return a {@link com.jamw.jmud.Level} object
+     * @throws IncommensurableDimensionException if the reference units of the
+     * scales are not commensurable.
+     */
+    public static final <T extends Field<T>> Level<T> convert(Level<T> level, Scale scale)
+            throws IncommensurableDimensionException {
+        Scale from = level.getScale();
+        if (from.equals(scale))
+            return level;
+        if (!(from instanceof AffineScale && scale instanceof AffineScale))
+            return scale.level(level.getMeasure());
+        T f = level.getField();
+        Field[] c = coefficients((AffineScale)from,(AffineScale)scale,f.getFactory());
+        return new LevelImpl<>(f.multiply((T)c[0]).add((T)c[1]),scale,null);
+    }
+    
+    /**
+     * Returns the factor <i>p</i> by which a level of the source scale is 
+     * multiplied, before adding the {@linkplain #conversionOffset offset}, to 
+     * obtain the equivalent level of the target scale, particularized to the
+     * field of the specified factory.
+     *
+     * @param <T> the type of field in which to represent the coefficient.
+     * @param from the source scale.
+     * @param to the target scale.
+     * @param factory the factory of the field.
+     * @return the coefficient <i>p</i> of the affine map <i>p•L + q</i>.
+     * @throws IncommensurableDimensionException if the reference units of the
+     * scales are not commensurable.
+     */
+    public static final <T extends Field<T>> T conversionSlope(AffineScale from, AffineScale to, Field.Factory<T> factory)
+            throws IncommensurableDimensionException {
+        return (T)coefficients(from,to,factory)[0];
+    }
+    
+    /**
+     * Returns the term <i>q</i> added to the product of a level of the source
+     * scale and the {@linkplain #conversionSlope slope} to obtain the 
+     * equivalent level of the target scale, particularized to the field of the
+     * specified factory.
+     *
+     * @param <T> the type of field in which to represent the coefficient.
+     * @param from the source scale.
+     * @param to the target scale.
+     * @param factory the factory of the field.
+     * @return the coefficient <i>q</i> of the affine map <i>p•L + q</i>.
+     * @throws IncommensurableDimensionException if the reference units of the
+     * scales are not commensurable.
+     */
+    public static final <T extends Field<T>> T conversionOffset(AffineScale from, AffineScale to, Field.Factory<T> factory)
+            throws IncommensurableDimensionException {
+        return (T)coefficients(from,to,factory)[1];
+    }
+    
+    /*
+     * With x2 = k•x1 for k = scale(ref1)/scale(ref2), a level y1 = a1•x1 + b1
+     * is the level y2 = a2•x2 + b2 = p•y1 + q for p = a2•k/a1 and q = b2 - p•b1.
+     */
+    private static <T extends Field<T>> Field[] coefficients(AffineScale from, AffineScale to, Field.Factory<T> factory) {
+        Key key = new Key(from,to,factory);
+        Field[] c = COEFFICIENTS.get(key);
+        if (c != null)
+            return c;
+        T k = Conversions.factor(from.getReferenceUnit(),to.getReferenceUnit(),factory);
+        T p = to.getSlope().using(factory).multiply(k).divide(from.getSlope().using(factory));
+        T q = to.getOffset().using(factory).subtract(p.multiply(from.getOffset().using(factory)));
+        c = new Field[] {p,q};
+        if (COEFFICIENTS.size() >= CAPACITY)
+            COEFFICIENTS.clear();
+        COEFFICIENTS.putIfAbsent(key,c);
+        return c;
+    }
+    
     /**
      * Returns a bel scale of the referenced unit.  Prepends <i>"BEL-"</i> and <i>"B</i>
      * to the reference unit name and symbol, respectively, for the name and 
@@ -208,21 +321,17 @@ public abstract class Scales {
         return new ScaleImpl(name,symbol,referenceUnit,NEPER_FUNCTION,NEPER_INVERSE_FUNCTION);
     }
     
-    private static final class ScaleImpl implements Scale {
+    private static abstract class AbstractScale implements Scale {
 
         private final String name,symbol;
         private final Unit refUnit;
-        private final UnaryOperator<Field> function;
-        private final UnaryOperator<Field> inverseFunction;
         
-        private ScaleImpl(String name,String symbol,Unit refUnit,UnaryOperator<Field> function,UnaryOperator<Field> inverseFunction) {
+        private AbstractScale(String name,String symbol,Unit refUnit) {
             check(name);
             check(symbol);
             this.name = name;
             this.symbol = symbol;
             this.refUnit = refUnit;
-            this.function = function;
-            this.inverseFunction = inverseFunction;
         }
         
         private static void check(String s) {
@@ -252,7 +361,7 @@ public abstract class Scales {
         }
         
         @Override
-        public Unit getReferenceUnit() {
+        public final Unit getReferenceUnit() {
             return refUnit;
         }
         
@@ -261,27 +370,108 @@ public abstract class Scales {
             return "Scale: " + getName() + " (" + getSymbol() + ")";
         }
         
+        @Override
+        public final <T extends Field<T>> Level<T> of(T value) {
+            return new LevelImpl<>(value,this,null);
+        }
+        
+        /**
+         * Returns the measure in the reference unit of the specified level value.
+         */
+        abstract <T extends Field<T>> Measure<T> measure(T value);
+    }
+    
+    private static final class ScaleImpl extends AbstractScale {
+
+        private final UnaryOperator<Field> function;
+        private final UnaryOperator<Field> inverseFunction;
+        
+        private ScaleImpl(String name,String symbol,Unit refUnit,UnaryOperator<Field> function,UnaryOperator<Field> inverseFunction) {
+            super(name,symbol,refUnit);
+            this.function = function;
+            this.inverseFunction = inverseFunction;
+        }
+        
         @Override
         public <T extends Field<T>> Level<T> level(Measure<T> measure) {
-            Measure<T> m = measure.as(refUnit);
+            Measure<T> m = measure.as(getReferenceUnit());
             T levelValue = (T)function.apply(m.getField());
             return new LevelImpl<>(levelValue,this,m);
         }
         
         @Override
-        public <T extends Field<T>> Level<T> of(T value) {
-            T measureValue = (T)inverseFunction.apply(value);
-            Measure<T> measure = Expressions.take(measureValue,refUnit);
-            return new LevelImpl<>(value,this,measure);
+        <T extends Field<T>> Measure<T> measure(T value) {
+            return Expressions.take((T)inverseFunction.apply(value),getReferenceUnit());
+        }
+    }
+    
+    private static final class AffineScaleImpl extends AbstractScale implements AffineScale {
+
+        private final Scalar slope,offset;
+        
+        private AffineScaleImpl(String name,String symbol,Unit refUnit,Scalar slope,Scalar offset) {
+            super(name,symbol,refUnit);
+            this.slope = Objects.requireNonNull(slope);
+            this.offset = Objects.requireNonNull(offset);
+            if (ExactScale.ZERO.equals(ExactScale.of(slope)))
+                throw new IllegalArgumentException("Slope cannot be zero.");
+        }
+        
+        @Override
+        public Scalar getSlope() {
+            return slope;
+        }
+        
+        @Override
+        public Scalar getOffset() {
+            return offset;
+        }
+        
+        @Override
+        public <T extends Field<T>> Level<T> level(Measure<T> measure) {
+            Measure<T> m = measure.as(getReferenceUnit());
+            T x = m.getField();
+            Field.Factory<T> factory = x.getFactory();
+            T levelValue = slope == Expressions.ONE ? x : x.multiply(slope.using(factory));
+            return new LevelImpl<>(levelValue.add(offset.using(factory)),this,m);
+        }
+        
+        @Override
+        <T extends Field<T>> Measure<T> measure(T value) {
+            return affineMeasure(this,value);
         }
     }
     
+    /**
+     * Returns the measure in the reference unit of the specified level value 
+     * of the specified affine scale, <i>(y - b)/a</i>.
+     */
+    private static <T extends Field<T>> Measure<T> affineMeasure(AffineScale scale, T value) {
+        Field.Factory<T> factory = value.getFactory();
+        T x = value.subtract(scale.getOffset().using(factory));
+        if (scale.getSlope() != Expressions.ONE)
+            x = x.divide(scale.getSlope().using(factory));
+        return Expressions.take(x,scale.getReferenceUnit());
+    }
+    
     private static final class LevelImpl<F extends Field<F>> implements Level<F> {
 
         private final F value;
         private final Scale scale;
-        private final Measure<F> measure;
         
+        /*
+         * Written lazily and without synchronization by any thread calling 
+         * getMeasure().  The race is benign: every thread computes an equal 
+         * measure, and a measure is safely published without a lock because
+         * MeasureImpl has only final fields.
+         */
+        private Measure<F> measure;
+        
+        /**
+         * Creates a level of the specified value and scale, whose measure, if 
+         * null, is calculated on demand by the scale, or from the slope and
+         * offset of an affine scale of another implementation.
+         */
         private LevelImpl(F value, Scale scale, Measure<F> measure) {
             this.value = value;
             this.scale = scale;
@@ -300,7 +490,12 @@ public abstract class Scales {
         
         @Override
         public Measure<F> getMeasure() {
-            return measure;
+            Measure<F> m = measure;
+            if (m == null)
+                measure = m = scale instanceof AbstractScale ?
+                              ((AbstractScale)scale).measure(value) :
+                              affineMeasure((AffineScale)scale,value);
+            return m;
         }
 
         @Override
@@ -340,4 +535,39 @@ public abstract class Scales {
             return value.toString() + " " + scale.getSymbol();
         }
     }
+    
+    private static final class Key {
+
+        private final AffineScale from, to;
+        private final Field.Factory<?> factory;
+        private final int hash;
+
+        private Key(AffineScale from, AffineScale to, Field.Factory<?> factory) {
+            this.from = from;
+            this.to = to;
+            this.factory = factory;
+            int h = 7;
+            h = 31 * h + from.hashCode();
+            h = 31 * h + to.hashCode();
+            h = 31 * h + factory.hashCode();
+            this.hash = h;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof Key))
+                return false;
+            Key k = (Key)o;
+            return from.equals(k.from)
+                    && to.equals(k.to)
+                    && factory.equals(k.factory);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -66,6 +66,19 @@ public interface Unit {
      */
     Scalar getScale();
     
+    /**
+     * Returns the scale of this unit particularized to the field of the 
+     * specified factory.  Units created by {@link Units} evaluate their scale
+     * once per factory and return the same value thereafter.
+     *
+     * @param <F> the type of field.
+     * @param factory the factory of the field.
+     * @return a field
+     */
+    default <F extends Field<F>> F getScale(Field.Factory<F> factory) {
+        return getScale().using(factory);
+    }
+    
     /**
      * {@inheritDoc}
      *
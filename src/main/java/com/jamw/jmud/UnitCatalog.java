@@ -0,0 +1,193 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precomputed exact scales of the built-in units.
+ *
+ * <p>Each entry holds the name of a built-in unit, the composition of its
+ * dimension, and its exact scale relative to the fundamental units, either as
+ * a decimal literal or as a quotient of integer literals, times a power of
+ * <i>&pi;</i> for angular units.  While the built-in units are initialized
+ * their scales are taken from this table instead of being composed from the
+ * scales of the units they are defined by.
+ *
+ * <p>Generated by {@code UnitCatalogGenerator}; do not edit.
+ *
+ * @author andreww1011
+ */
+abstract class UnitCatalog {
+    
+    /**
+     * The system property which disables the catalog when set to {@code false}.
+     */
+    static final String PROPERTY = "com.jamw.jmud.unitCatalog";
+    
+    private static final String[][] ENTRIES = {
+        {"RADIAN", "-", "1"},
+        {"DEGREE", "-", "1/180*pi"},
+        {"STERADIAN", "-", "1"},
+        {"STRAIN", "-", "1"},
+        {"PERCENT", "-", "0.01"},
+        {"HERTZ", "T^-1", "1"},
+        {"DAY", "T", "86400"},
+        {"HOUR", "T", "3600"},
+        {"MINUTE", "T", "60"},
+        {"MILLISECOND", "T", "0.001"},
+        {"MICROSECOND", "T", "0.000001"},
+        {"NANOSECOND", "T", "0.000000001"},
+        {"GRAM", "M", "0.001"},
+        {"MILLIGRAM", "M", "0.000001"},
+        {"CENTIMETER", "L", "0.01"},
+        {"MILLIMETER", "L", "0.001"},
+        {"SQUARE_METER", "L^2", "1"},
+        {"SQUARE_CENTIMETER", "L^2", "0.0001"},
+        {"SQUARE_MILLIMETER", "L^2", "0.000001"},
+        {"CUBIC_METER", "L^3", "1"},
+        {"CUBIC_CENTIMETER", "L^3", "0.000001"},
+        {"CUBIC_MILLIMETER", "L^3", "0.000000001"},
+        {"METER_PER_SECOND", "L T^-1", "1"},
+        {"CENTIMETER_PER_SECOND", "L T^-1", "0.01"},
+        {"METER_PER_SQUARE_SECOND", "L T^-2", "1"},
+        {"CENTIMETER_PER_SQUARE_SECOND", "L T^-2", "0.01"},
+        {"KILOGRAM_PER_METER", "M L^-1", "1"},
+        {"KILOGRAM_PER_CENTIMETER", "M L^-1", "100"},
+        {"KILOGRAM_PER_SQUARE_METER", "M L^-2", "1"},
+        {"KILOGRAM_PER_SQUARE_CENTIMETER", "M L^-2", "10000"},
+        {"KILOGRAM_PER_SQUARE_MILLIMETER", "M L^-2", "1000000"},
+        {"KILOGRAM_PER_CUBIC_METER", "M L^-3", "1"},
+        {"KILOGRAM_PER_CUBIC_CENTIMETER", "M L^-3", "1000000"},
+        {"KILOGRAM_PER_CUBIC_MILLIMETER", "M L^-3", "1000000000"},
+        {"NEWTON", "M L T^-2", "1"},
+        {"KILONEWTON", "M L T^-2", "1000"},
+        {"MEGANEWTON", "M L T^-2", "1000000"},
+        {"NEWTON_METER", "M L^2 T^-2", "1"},
+        {"KILONEWTON_METER", "M L^2 T^-2", "1000"},
+        {"NEWTON_CENTIMETER", "M L^2 T^-2", "0.01"},
+        {"NEWTON_MILLIMETER", "M L^2 T^-2", "0.001"},
+        {"NEWTON_PER_METER", "M T^-2", "1"},
+        {"KILONEWTON_PER_METER", "M T^-2", "1000"},
+        {"PASCAL", "M L^-1 T^-2", "1"},
+        {"KILOPASCAL", "M L^-1 T^-2", "1000"},
+        {"MEGAPASCAL", "M L^-1 T^-2", "1000000"},
+        {"NEWTON_PER_SQUARE_CENTIMETER", "M L^-1 T^-2", "10000"},
+        {"KILONEWTON_PER_SQUARE_CENTIMETER", "M L^-1 T^-2", "10000000"},
+        {"NEWTON_PER_SQUARE_MILLIMETER", "M L^-1 T^-2", "1000000"},
+        {"KILONEWTON_PER_SQUARE_MILLIMETER", "M L^-1 T^-2", "1000000000"},
+        {"NEWTON_PER_CUBIC_METER", "M L^-2 T^-2", "1"},
+        {"NEWTON_PER_CUBIC_CENTIMETER", "M L^-2 T^-2", "1000000"},
+        {"NEWTON_PER_CUBIC_MILLIMETER", "M L^-2 T^-2", "1000000000"},
+        {"JOULE", "M L^2 T^-2", "1"},
+        {"KILOJOULE", "M L^2 T^-2", "1000"},
+        {"MEGAJOULE", "M L^2 T^-2", "1000000"},
+        {"WATT", "M L^2 T^-3", "1"},
+        {"KILOWATT", "M L^2 T^-3", "1000"},
+        {"MEGAWATT", "M L^2 T^-3", "1000000"},
+        {"COULOMB", "T I", "1"},
+        {"VOLT", "M L^2 T^-3 I^-1", "1"},
+        {"FARAD", "M^-1 L^-2 T^4 I^2", "1"},
+        {"OHM", "M L^2 T^-3 I^-2", "1"},
+        {"SIEMENS", "M^-1 L^-2 T^3 I^2", "1"},
+        {"WEBER", "M L^2 T^-2 I^-1", "1"},
+        {"TESLA", "M T^-2 I^-1", "1"},
+        {"HENRY", "M L^2 T^-2 I^-2", "1"},
+        {"LUMEN", "J", "1"},
+        {"LUX", "L^-2 J", "1"},
+        {"BECQUEREL", "T^-1", "1"},
+        {"GRAY", "L^2 T^-2", "1"},
+        {"KATAL", "T^-1 N", "1"},
+        {"FOOT", "L", "0.3048"},
+        {"SLUG", "M", "14.5939"},
+        {"RANKINE", "\u03B8", "5/9"},
+        {"INCH", "L", "0.0254"},
+        {"YARD", "L", "0.9144"},
+        {"SQUARE_FOOT", "L^2", "0.09290304"},
+        {"SQUARE_INCH", "L^2", "0.00064516"},
+        {"SQUARE_YARD", "L^2", "0.83612736"},
+        {"CUBIC_FOOT", "L^3", "0.028316846592"},
+        {"CUBIC_INCH", "L^3", "0.000016387064"},
+        {"CUBIC_YARD", "L^3", "0.764554857984"},
+        {"FOOT_PER_SECOND", "L T^-1", "0.3048"},
+        {"INCH_PER_SECOND", "L T^-1", "0.0254"},
+        {"FOOT_PER_SQUARE_SECOND", "L T^-2", "0.3048"},
+        {"INCH_PER_SQUARE_SECOND", "L T^-2", "0.0254"},
+        {"SLUG_PER_FOOT", "M L^-1", "145939/3048"},
+        {"SLUG_PER_INCH", "M L^-1", "145939/254"},
+        {"SLUG_PER_SQUARE_FOOT", "M L^-2", "91211875/580644"},
+        {"SLUG_PER_SQUARE_INCH", "M L^-2", "364847500/16129"},
+        {"SLUG_PER_CUBIC_FOOT", "M L^-3", "57007421875/110612682"},
+        {"SLUG_PER_CUBIC_INCH", "M L^-3", "1824237500000/2048383"},
+        {"POUND", "M L T^-2", "4.44822072"},
+        {"KIP", "M L T^-2", "4448.22072"},
+        {"POUND_FOOT", "M L^2 T^-2", "1.355817675456"},
+        {"POUND_INCH", "M L^2 T^-2", "0.112984806288"},
+        {"KIP_FOOT", "M L^2 T^-2", "1355.817675456"},
+        {"KIP_INCH", "M L^2 T^-2", "112.984806288"},
+        {"POUND_PER_FOOT", "M T^-2", "14.5939"},
+        {"POUND_PER_INCH", "M T^-2", "175.1268"},
+        {"KIP_PER_FOOT", "M T^-2", "14593.9"},
+        {"KIP_PER_INCH", "M T^-2", "175126.8"},
+        {"POUND_PER_SQUARE_FOOT", "M L^-1 T^-2", "145939/3048"},
+        {"POUND_PER_SQUARE_INCH", "M L^-1 T^-2", "875634/127"},
+        {"KIP_PER_SQUARE_FOOT", "M L^-1 T^-2", "18242375/381"},
+        {"KIP_PER_SQUARE_inch", "M L^-1 T^-2", "875634000/127"},
+        {"POUND_PER_CUBIC_FOOT", "M L^-2 T^-2", "91211875/580644"},
+        {"POUND_PER_CUBIC_INCH", "M L^-2 T^-2", "4378170000/16129"},
+        {"POUND_PER_CUBIC_YARD", "M L^-2 T^-2", "91211875/15677388"},
+    };
+    
+    private static final Map<String,String> SCALES = new HashMap<>(ENTRIES.length * 2); //magic number
+    
+    static {
+        if (!"false".equalsIgnoreCase(System.getProperty(PROPERTY)))
+            for (String[] e : ENTRIES)
+                SCALES.put(e[0],e[2]);
+    }
+    
+    private UnitCatalog() {}
+    
+    /**
+     * Returns the exact scale of the built-in unit of the specified name, or
+     * null if the unit is not in the catalog.
+     *
+     * @param name the name of a built-in unit.
+     * @return a {@link com.jamw.jmud.ExactScale} object
+     */
+    static ExactScale scale(String name) {
+        String s = name == null ? null : SCALES.get(name);
+        if (s == null)
+            return null;
+        return ExactScale.parse(s);
+    }
+    
+    /**
+     * Returns a copy of the entries of the catalog, each an array of the unit
+     * name, the composition of its dimension, and its exact scale.
+     *
+     * @return an array of {name, composition, scale} entries
+     */
+    static String[][] entries() {
+        String[][] copy = new String[ENTRIES.length][];
+        for (int i = 0; i < ENTRIES.length; i++)
+            copy[i] = ENTRIES[i].clone();
+        return copy;
+    }
+}
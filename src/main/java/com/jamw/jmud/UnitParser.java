@@ -0,0 +1,362 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Parser of unit expressions.
+ *
+ * <p>Parsed expressions are held in a shared, bounded cache keyed by the text 
+ * of the expression.  When the cache reaches its capacity, the entries which
+ * have not been looked up since the previous eviction are removed, so that
+ * recently used expressions are retained.
+ *
+ * <p>All static methods of this class are thread-safe.
+ *
+ * @see Units#parse(java.lang.CharSequence)
+ * 
+ * @author andreww1011
+ */
+final class UnitParser {
+    
+    /**
+     * The maximum number of parsed expressions held by the cache.
+     */
+    static final int CAPACITY = 1024; //magic number
+    
+    private static final Map<String,Cached> CACHE = new ConcurrentHashMap<>();
+    
+    private static final Map<String,UnaryOperator<Unit>> PREFIX_SYMBOLS = new LinkedHashMap<>();
+    private static final Map<String,UnaryOperator<Unit>> PREFIX_NAMES = new LinkedHashMap<>();
+    
+    static {
+        prefix("da","DECA",Units::deca);
+        prefix("Y","YOTTA",Units::yotta);
+        prefix("Z","ZETTA",Units::zetta);
+        prefix("E","EXA",Units::exa);
+        prefix("P","PETA",Units::peta);
+        prefix("T","TERA",Units::tera);
+        prefix("G","GIGA",Units::giga);
+        prefix("M","MEGA",Units::mega);
+        prefix("k","KILO",Units::kilo);
+        prefix("h","HECTO",Units::hecto);
+        prefix("d","DECI",Units::deci);
+        prefix("c","CENTI",Units::centi);
+        prefix("m","MILLI",Units::milli);
+        prefix("\u03BC","MICRO",Units::micro);
+        prefix("n","NANO",Units::nano);
+        prefix("p","PICO",Units::pico);
+        prefix("f","FEMTO",Units::femto);
+        prefix("a","ATTO",Units::atto);
+        prefix("z","ZEPTO",Units::zepto);
+        prefix("y","YOCTO",Units::yocto);
+        PREFIX_SYMBOLS.put("\u00B5",Units::micro);
+        PREFIX_SYMBOLS.put("u",Units::micro);
+    }
+    
+    private static final String SUPERSCRIPTS = "\u2070\u00B9\u00B2\u00B3\u2074\u2075\u2076\u2077\u2078\u2079";
+    private static final char SUPERSCRIPT_MINUS = '\u207B';
+    private static final char SUPERSCRIPT_PLUS = '\u207A';
+    private static final String PRODUCTS = "*.\u00B7\u22C5\u00D7";
+    
+    /**
+     * The maximum nesting depth of parentheses.
+     */
+    private static final int DEPTH_LIMIT = 64; //magic number
+    
+    private final String text;
+    private int index;
+    private int depth;
+    
+    private UnitParser(String text) {
+        this.text = text;
+        this.index = 0;
+    }
+    
+    private static void prefix(String symbol, String name, UnaryOperator<Unit> operator) {
+        PREFIX_SYMBOLS.put(symbol,operator);
+        PREFIX_NAMES.put(name,operator);
+    }
+    
+    /**
+     * Returns the unit denoted by the specified unit expression.
+     *
+     * @param expression a unit expression.
+     * @return a {@link com.jamw.jmud.Unit} object
+     * @throws IllegalArgumentException if the expression is malformed or 
+     * denotes an unknown unit.
+     */
+    static Unit parse(CharSequence expression) throws IllegalArgumentException {
+        String key = expression.toString();
+        Cached c = CACHE.get(key);
+        if (c != null) {
+            if (!c.referenced)
+                c.referenced = true;
+            return c.unit;
+        }
+        Unit u = new UnitParser(key).parse();
+        if (CACHE.size() >= CAPACITY)
+            evict();
+        c = CACHE.putIfAbsent(key,new Cached(u));
+        return c == null ? u : c.unit;
+    }
+    
+    /**
+     * Removes the entries not looked up since the previous eviction and marks
+     * the remainder as not looked up.
+     */
+    private static void evict() {
+        Iterator<Cached> iter = CACHE.values().iterator();
+        while (iter.hasNext()) {
+            Cached c = iter.next();
+            if (c.referenced)
+                c.referenced = false;
+            else
+                iter.remove();
+        }
+    }
+    
+    /**
+     * Removes all parsed expressions from the cache.
+     */
+    static void clear() {
+        CACHE.clear();
+    }
+    
+    private Unit parse() {
+        Map<Unit,Exponent> factors = product();
+        skipWhitespace();
+        if (index < text.length())
+            throw error("Unexpected '" + text.charAt(index) + "'");
+        if (factors.isEmpty())
+            return Units.UNITLESS;
+        Iterator<Entry<Unit,Exponent>> iter = factors.entrySet().iterator();
+        Entry<Unit,Exponent> first = iter.next();
+        if (!iter.hasNext() && first.getValue().isEqualTo(Exponents.ONE))
+            return first.getKey();
+        Units.CompoundUnitBuilder b = Units.newUnit().as(first.getKey(),first.getValue());
+        while (iter.hasNext()) {
+            Entry<Unit,Exponent> en = iter.next();
+            b = b.multiply(en.getKey(),en.getValue());
+        }
+        return b.create();
+    }
+    
+    private Map<Unit,Exponent> product() {
+        Map<Unit,Exponent> factors = new LinkedHashMap<>();
+        multiply(factors,factor(),Exponents.ONE);
+        while (true) {
+            boolean spaced = skipWhitespace();
+            if (index >= text.length())
+                return factors;
+            char c = text.charAt(index);
+            if (c == '/') {
+                index++;
+                multiply(factors,factor(),Exponents.INVERSE);
+            } else if (PRODUCTS.indexOf(c) >= 0) {
+                index++;
+                multiply(factors,factor(),Exponents.ONE);
+            } else if (spaced && c != ')') {
+                multiply(factors,factor(),Exponents.ONE);
+            } else {
+                return factors;
+            }
+        }
+    }
+    
+    private static void multiply(Map<Unit,Exponent> factors, Map<Unit,Exponent> m, Exponent e) {
+        for (Entry<Unit,Exponent> en : m.entrySet()) {
+            Exponent ex = Exponents.product(factors.getOrDefault(en.getKey(),Exponents.ZERO),Exponents.power(en.getValue(),e));
+            if (ex.isEqualTo(Exponents.ZERO))
+                factors.remove(en.getKey());
+            else
+                factors.put(en.getKey(),ex);
+        }
+    }
+    
+    private Map<Unit,Exponent> factor() {
+        Map<Unit,Exponent> m = primary();
+        Exponent e = exponent();
+        if (e == null)
+            return m;
+        Map<Unit,Exponent> p = new LinkedHashMap<>();
+        multiply(p,m,e);
+        return p;
+    }
+    
+    private Map<Unit,Exponent> primary() {
+        skipWhitespace();
+        if (index >= text.length())
+            throw error("Missing unit");
+        char c = text.charAt(index);
+        if (c == '(') {
+            if (depth >= DEPTH_LIMIT)
+                throw error("Too deeply nested");
+            index++;
+            depth++;
+            Map<Unit,Exponent> m = product();
+            skipWhitespace();
+            expect(')');
+            depth--;
+            return m;
+        }
+        if (c == '1' && (index + 1 >= text.length() || !Character.isDigit(text.charAt(index + 1)))) {
+            index++;
+            return new HashMap<>();
+        }
+        int start = index;
+        while (index < text.length() && isUnitCharacter(text.charAt(index)))
+            index++;
+        if (start == index)
+            throw error("Unexpected '" + c + "'");
+        Map<Unit,Exponent> m = new LinkedHashMap<>();
+        m.put(resolve(text.substring(start,index),start),Exponents.ONE);
+        return m;
+    }
+    
+    private Exponent exponent() {
+        if (index >= text.length())
+            return null;
+        char c = text.charAt(index);
+        if (c == '^') {
+            index++;
+            if (index < text.length() && text.charAt(index) == '(') {
+                index++;
+                int n = integer();
+                int d = 1; //magic number
+                if (index < text.length() && text.charAt(index) == '/') {
+                    index++;
+                    d = integer();
+                }
+                expect(')');
+                return of(n,d);
+            }
+            return of(integer(),1); //magic number
+        }
+        if (c != SUPERSCRIPT_MINUS && c != SUPERSCRIPT_PLUS && SUPERSCRIPTS.indexOf(c) < 0)
+            return null;
+        int start = index;
+        boolean negative = c == SUPERSCRIPT_MINUS;
+        if (c == SUPERSCRIPT_MINUS || c == SUPERSCRIPT_PLUS)
+            index++;
+        long n = 0;
+        while (index < text.length() && SUPERSCRIPTS.indexOf(text.charAt(index)) >= 0) {
+            n = 10 * n + SUPERSCRIPTS.indexOf(text.charAt(index++)); //magic number
+            if (n > Integer.MAX_VALUE)
+                throw error("Exponent out of range",start);
+        }
+        if (index == start + 1 && (negative || c == SUPERSCRIPT_PLUS))
+            throw error("Missing exponent");
+        return of((int)(negative ? -n : n),1); //magic number
+    }
+    
+    private Exponent of(int numerator, int denominator) {
+        if (denominator == 0)
+            throw error("Zero exponent denominator");
+        return Exponents.of(numerator,denominator);
+    }
+    
+    private int integer() {
+        int start = index;
+        if (index < text.length() && (text.charAt(index) == '-' || text.charAt(index) == '+'))
+            index++;
+        int digits = index;
+        while (index < text.length() && Character.isDigit(text.charAt(index)))
+            index++;
+        if (digits == index)
+            throw error("Missing exponent",start);
+        try {
+            return Integer.parseInt(text.substring(start,index));
+        } catch (NumberFormatException ex) {
+            throw error("Exponent out of range",start);
+        }
+    }
+    
+    private Unit resolve(String token, int position) {
+        Unit u = UnitRegistry.forSymbol(token);
+        if (u != null)
+            return u;
+        u = UnitRegistry.forName(token);
+        if (u != null)
+            return u;
+        for (Entry<String,UnaryOperator<Unit>> en : PREFIX_SYMBOLS.entrySet()) {
+            if (token.length() > en.getKey().length() && token.startsWith(en.getKey())) {
+                u = UnitRegistry.forSymbol(token.substring(en.getKey().length()));
+                if (u != null)
+                    return en.getValue().apply(u);
+            }
+        }
+        String name = token.toUpperCase(Locale.ROOT);
+        for (Entry<String,UnaryOperator<Unit>> en : PREFIX_NAMES.entrySet()) {
+            if (name.length() > en.getKey().length() && name.startsWith(en.getKey())) {
+                u = UnitRegistry.forName(name.substring(en.getKey().length()));
+                if (u != null)
+                    return en.getValue().apply(u);
+            }
+        }
+        throw error("Unknown unit \"" + token + "\"",position);
+    }
+    
+    private static boolean isUnitCharacter(char c) {
+        return !Character.isWhitespace(c)
+                && !Character.isDigit(c)
+                && c != '/' && c != '^' && c != '(' && c != ')' && c != '-' && c != '+'
+                && c != SUPERSCRIPT_MINUS && c != SUPERSCRIPT_PLUS
+                && PRODUCTS.indexOf(c) < 0
+                && SUPERSCRIPTS.indexOf(c) < 0;
+    }
+    
+    private boolean skipWhitespace() {
+        int start = index;
+        while (index < text.length() && Character.isWhitespace(text.charAt(index)))
+            index++;
+        return index > start;
+    }
+    
+    private void expect(char c) {
+        if (index >= text.length() || text.charAt(index) != c)
+            throw error("Expected '" + c + "'");
+        index++;
+    }
+    
+    private IllegalArgumentException error(String message) {
+        return error(message,index);
+    }
+    
+    private IllegalArgumentException error(String message, int position) {
+        return new IllegalArgumentException(message + " at index " + position + " of unit expression \"" + text + "\".");
+    }
+    
+    private static final class Cached {
+        
+        private final Unit unit;
+        private volatile boolean referenced;
+        
+        private Cached(Unit unit) {
+            this.unit = unit;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of units by symbol, alias and name.
+ *
+ * <p>Every built-in unit of {@link Units} is registered, along with a few 
+ * common aliases, e.g. <i>"lbf"</i> for {@link Units#POUND} and <i>"h"</i> 
+ * for {@link Units#HOUR}.  Further units, such as the fundamental units of
+ * {@link Universe#newFundamentalPair(java.lang.String, java.lang.String, java.lang.String, java.lang.String) fundamental pairs}
+ * or units created by a {@link Units.UnitBuilder}, may be registered by 
+ * {@link #register(com.jamw.jmud.Unit)} and {@link #registerAlias(java.lang.String, com.jamw.jmud.Unit)}.
+ * 
+ * <p>Symbols and aliases share a single namespace and are matched exactly;
+ * names are matched regardless of case.  A symbol, alias or name identifies 
+ * at most one unit, and registrations which would make it ambiguous are 
+ * rejected.  Registered units are used by {@link Units#parse(java.lang.CharSequence)}.
+ * 
+ * <p>Registrations are permanent: there is no way to unregister a unit or an
+ * alias, and every registration is visible to all users of the registry for
+ * the life of the class loader.
+ * 
+ * <p>All methods of this class are thread-safe and lookups do not block.
+ *
+ * @author andreww1011
+ */
+public abstract class UnitRegistry {
+    
+    static {
+        //the built-in units register themselves as they are initialized
+        Units.initialize();
+    }
+    
+    private UnitRegistry() {}
+    
+    /**
+     * Returns the unit registered with the specified symbol or alias, or
+     * {@code null} if there is none.
+     *
+     * @param symbol a symbol or alias.
+     * @return a {@link com.jamw.jmud.Unit} object, or {@code null}.
+     */
+    public static Unit forSymbol(String symbol) {
+        return Index.SYMBOLS.get(symbol);
+    }
+    
+    /**
+     * Returns the unit registered with the specified name, ignoring case, or
+     * {@code null} if there is none.
+     *
+     * @param name a name.
+     * @return a {@link com.jamw.jmud.Unit} object, or {@code null}.
+     */
+    public static Unit forName(String name) {
+        return Index.NAMES.get(name.toUpperCase(Locale.ROOT));
+    }
+    
+    /**
+     * Returns the unit registered with the specified symbol or alias or, if 
+     * there is none, the unit registered with the specified name, or 
+     * {@code null} if there is neither.
+     *
+     * @param identifier a symbol, alias or name.
+     * @return a {@link com.jamw.jmud.Unit} object, or {@code null}.
+     */
+    public static Unit lookup(String identifier) {
+        Unit u = forSymbol(identifier);
+        return u != null ? u : forName(identifier);
+    }
+    
+    /**
+     * Registers the specified unit by its symbol and its name.  A blank 
+     * symbol or name is not registered, nor is a symbol or name which 
+     * {@link Units} generated for a unit created without one, e.g. 
+     * <i>"[m][s^-1]"</i>.  Registering a unit again has no 
+     * effect.  The registration is permanent.
+     *
+     * @param unit a unit.
+     * @throws IllegalArgumentException if the symbol or the name of the unit 
+     * is registered to another unit.
+     */
+    public static void register(Unit unit) throws IllegalArgumentException {
+        Index.register(unit);
+    }
+    
+    /**
+     * Registers the specified alias as an alternative symbol of the specified
+     * unit.  Registering an alias of a unit again has no effect.  The 
+     * registration is permanent.
+     *
+     * @param alias an alias.
+     * @param unit a unit.
+     * @throws IllegalArgumentException if the alias is blank, or is a symbol 
+     * or alias of another unit.
+     */
+    public static void registerAlias(String alias, Unit unit) throws IllegalArgumentException {
+        Index.registerAlias(alias,unit);
+    }
+    
+    /**
+     * The tables of the registry, held apart from the registry so that the
+     * built-in units may be registered while they are initialized.
+     */
+    static final class Index {
+        
+        private static final Map<String,Unit> SYMBOLS = new ConcurrentHashMap<>();
+        private static final Map<String,Unit> NAMES = new ConcurrentHashMap<>();
+        
+        /**
+         * Guards every registration, so that both keys of a unit are checked
+         * before either is published.  Lookups do not take the lock.
+         */
+        private static final Object LOCK = new Object();
+        
+        private Index() {}
+        
+        static void register(Unit unit) {
+            String symbol = Units.givenSymbol(unit);
+            String name = Units.givenName(unit);
+            boolean hasSymbol = symbol != null && !symbol.isBlank();
+            boolean hasName = name != null && !name.isBlank();
+            String key = hasName ? name.toUpperCase(Locale.ROOT) : null;
+            synchronized (LOCK) {
+                if (hasSymbol)
+                    check(SYMBOLS,symbol,unit,"symbol");
+                if (hasName)
+                    check(NAMES,key,unit,"name");
+                if (hasSymbol)
+                    SYMBOLS.put(symbol,unit);
+                if (hasName)
+                    NAMES.put(key,unit);
+            }
+            UnitParser.clear();
+        }
+        
+        static void registerAlias(String alias, Unit unit) {
+            if (alias == null || alias.isBlank())
+                throw new IllegalArgumentException("Alias cannot be blank.");
+            synchronized (LOCK) {
+                check(SYMBOLS,alias,unit,"symbol or alias");
+                SYMBOLS.put(alias,unit);
+            }
+            UnitParser.clear();
+        }
+        
+        private static void check(Map<String,Unit> map, String key, Unit unit, String kind) {
+            Unit u = map.get(key);
+            if (u != null && u != unit)
+                throw new IllegalArgumentException("The " + kind + " \"" + key + "\" is registered to unit " + u.getName() + ".");
+        }
+    }
+}
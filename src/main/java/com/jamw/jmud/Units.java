@@ -17,11 +17,15 @@
  */
 package com.jamw.jmud;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Factory class of common units.
@@ -56,6 +60,15 @@ public abstract class Units {
     static final String PI = "3.141592653589793238462643383279";
     static final String E = "2.718281828459045235360287471352";
     
+    private static final CanonicalUnits CANONICAL = new CanonicalUnits();
+    private static final Map<Composition,Unit> PREFERRED = new ConcurrentHashMap<>();
+    
+    /**
+     * True while the built-in units are initialized, during which their exact
+     * scales are taken from the {@link UnitCatalog}.
+     */
+    private static boolean initializing = true;
+    
     /**
      * Fundamental unit for measurements of {@linkplain Dimensions#DIMENSIONLESS no dimension}.
      * <p>Denoted as <i>"-"</i>.
@@ -727,9 +740,11 @@ public abstract class Units {
     public static final Unit KATAL;
     
     static {
+        register(UNITLESS, KILOGRAM, METER, SECOND, AMPERE, KELVIN, MOLE, CANDELA);
+        
         //DIMENSIONLESS
         RADIAN          = newUnit().ofDimension(Dimensions.ANGLE).as(UNITLESS).withName("RADIAN").withSymbol("rad").create();
-        DEGREE          = newUnit().ofDimension(Dimensions.ANGLE).asTheRatio(PI).over(180).ofA(RADIAN).withName("DEGREE").withSymbol("\u00B0").create();
+        DEGREE          = newUnit().ofDimension(Dimensions.ANGLE).asTheRatio(Expressions.PI).over(180).ofA(RADIAN).withName("DEGREE").withSymbol("\u00B0").create();
         STERADIAN       = newUnit().ofDimension(Dimensions.SOLID_ANGLE).as(UNITLESS).withName("STERADIAN").withSymbol("sr").create();
         STRAIN          = newUnit().ofDimension(Dimensions.STRAIN).as(UNITLESS).withName("STRAIN").create();
         PERCENT         = newUnit().ofDimension(Dimensions.DIMENSIONLESS).asTheRatio(1).over(100).ofA(UNITLESS).withName("PERCENT").withSymbol("%").create();
@@ -860,10 +875,139 @@ public abstract class Units {
         
         //CATALYTIC_ACTIVITY
         KATAL                   = newUnit().ofDimension(Dimensions.CATALYTIC_ACTIVITY).as(MOLE).divide(SECOND).withName("KATAL").withSymbol("kat").create();
+        
+        //preferred units of shared compositions precede their alternatives
+        index(UNITLESS, KILOGRAM, METER, SECOND, AMPERE, KELVIN, MOLE, CANDELA,
+              HERTZ, NEWTON, PASCAL, JOULE, WATT, COULOMB, VOLT, FARAD, OHM, SIEMENS, 
+              WEBER, TESLA, HENRY, LUX, GRAY, KATAL, 
+              SQUARE_METER, CUBIC_METER, METER_PER_SECOND, METER_PER_SQUARE_SECOND,
+              KILOGRAM_PER_METER, KILOGRAM_PER_SQUARE_METER, KILOGRAM_PER_CUBIC_METER,
+              NEWTON_PER_METER, NEWTON_PER_CUBIC_METER);
+    }
+    
+    private static void index(Unit... units) {
+        for (Unit u : units)
+            PREFERRED.putIfAbsent(u.getDimension().getComposition(),u);
+    }
+    
+    /**
+     * Returns the preferred unit of the specified composition, or {@code null}
+     * if there is none.
+     * 
+     * <p>The preferred units are initially the coherent SI units of this 
+     * class, where the SI named unit is preferred among units sharing a 
+     * composition, e.g. {@link #JOULE} is preferred to {@link #NEWTON_METER}.
+     * The preferred unit of a composition may be replaced using 
+     * {@link #setPreferredUnit(com.jamw.jmud.Unit)}.
+     *
+     * @param composition a composition.
+     * @return a {@link com.jamw.jmud.Unit} object, or {@code null}.
+     */
+    public static final Unit preferredUnit(Composition composition) {
+        return PREFERRED.get(composition);
+    }
+    
+    /**
+     * Sets the specified unit as the preferred unit of the composition of its
+     * dimension, replacing any previously preferred unit.
+     *
+     * @param unit a unit.
+     */
+    public static final void setPreferredUnit(Unit unit) {
+        PREFERRED.put(unit.getDimension().getComposition(),unit);
+    }
+    
+    private static void register(Unit... units) {
+        for (Unit u : units)
+            UnitRegistry.Index.register(u);
+    }
+    
+    /**
+     * Ensures that the built-in units are initialized.
+     */
+    static void initialize() {}
+    
+    /**
+     * Returns the name of the specified unit, or null if the name was 
+     * generated by this class from the definition of the unit, e.g. 
+     * <i>"[METER] [SECOND^-1]"</i>.
+     *
+     * @param unit a unit.
+     * @return a {@link java.lang.String} object, or null.
+     */
+    static String givenName(Unit unit) {
+        if (unit instanceof UnitImpl && !((UnitImpl)unit).givenName)
+            return null;
+        return unit.getName();
+    }
+    
+    /**
+     * Returns the symbol of the specified unit, or null if the symbol was 
+     * generated by this class from the definition of the unit, e.g. 
+     * <i>"[m][s^-1]"</i>.
+     *
+     * @param unit a unit.
+     * @return a {@link java.lang.String} object, or null.
+     */
+    static String givenSymbol(Unit unit) {
+        if (unit instanceof UnitImpl && !((UnitImpl)unit).givenSymbol)
+            return null;
+        return unit.getSymbol();
+    }
+    
+    /**
+     * Returns the exact scale of the specified unit, or null if its scale is
+     * not exact or the unit was not created by this class.
+     *
+     * @param unit a unit.
+     * @return a {@link com.jamw.jmud.ExactScale} object, or null.
+     */
+    static ExactScale exactScale(Unit unit) {
+        if (unit instanceof FundamentalUnit)
+            return ExactScale.ONE;
+        if (unit instanceof UnitImpl)
+            return ((UnitImpl)unit).exact;
+        return null;
+    }
+    
+    /**
+     * Returns the unit denoted by the specified unit expression.
+     * 
+     * <p>A unit expression is a product of units, each optionally raised to an
+     * integer or rational power, for example <code>"kN&middot;m"</code>, {@code "m/s^2"},
+     * {@code "kg m^-3"} or {@code "(m/s)^(1/2)"}.
+     * <ul>
+     * <li>Units are denoted by the symbol, alias or name of a unit of the 
+     * {@link UnitRegistry}, optionally preceded by the symbol or the name of an
+     * SI prefix, e.g. {@code "mm"} or {@code "KILONEWTON"}.  Symbols and 
+     * aliases are matched exactly and names regardless of case.  The number {@code 1} denotes {@link #UNITLESS}.</li>
+     * <li>Units are multiplied by {@code '*'}, <code>'&middot;'</code>, <code>'&sdot;'</code>, 
+     * <code>'&times;'</code>, {@code '.'} or whitespace, and divided by {@code '/'}, 
+     * evaluated from left to right.</li>
+     * <li>A power is denoted by {@code '^'} followed by an integer, or by a
+     * ratio of integers in parentheses, or by superscript digits, e.g. 
+     * {@code "m^-1"}, {@code "m^(1/2)"} or <code>"m&sup2;"</code>.</li>
+     * <li>Parentheses group a product of units, and may be nested at most 64 deep.</li>
+     * </ul>
+     * 
+     * <p>An expression of a single unit to the power one returns that unit,
+     * e.g. {@code parse("kN")} returns {@link #KILONEWTON}; any other 
+     * expression returns the canonical compound unit of its factors.  Parsed
+     * expressions are held in a bounded cache, so that parsing a recently 
+     * parsed expression again costs a single lookup and returns the same 
+     * instance.
+     *
+     * @param expression a unit expression.
+     * @return a {@link com.jamw.jmud.Unit} object
+     * @throws IllegalArgumentException if the expression is malformed or 
+     * denotes an unknown unit.
+     */
+    public static final Unit parse(CharSequence expression) throws IllegalArgumentException {
+        return UnitParser.parse(expression);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>24</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>24</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"Y"</i>.
      *
@@ -871,11 +1015,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit yotta(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(YOTTA).ofA(u).withName("YOTTA" + u.getName()).withSymbol("Y" + u.getSymbol()).create();
+        return prefix(YOTTA,"YOTTA","Y",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>21</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>21</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"Z"</i>.
      *
@@ -883,11 +1027,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit zetta(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(ZETTA).ofA(u).withName("ZETTA" + u.getName()).withSymbol("Z" + u.getSymbol()).create();
+        return prefix(ZETTA,"ZETTA","Z",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>18</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>18</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"E"</i>.
      *
@@ -895,11 +1039,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit exa(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(EXA).ofA(u).withName("EXA" + u.getName()).withSymbol("E" + u.getSymbol()).create();
+        return prefix(EXA,"EXA","E",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>15</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>15</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"P"</i>.
      *
@@ -907,11 +1051,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit peta(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(PETA).ofA(u).withName("PETA" + u.getName()).withSymbol("P" + u.getSymbol()).create();
+        return prefix(PETA,"PETA","P",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>12</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>12</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"T"</i>.
      *
@@ -919,11 +1063,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit tera(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(TERA).ofA(u).withName("TERA" + u.getName()).withSymbol("T" + u.getSymbol()).create();
+        return prefix(TERA,"TERA","T",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>9</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>9</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"G"</i>.
      *
@@ -931,11 +1075,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit giga(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(GIGA).ofA(u).withName("GIGA" + u.getName()).withSymbol("G" + u.getSymbol()).create();
+        return prefix(GIGA,"GIGA","G",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>6</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>6</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"M"</i>.
      *
@@ -943,11 +1087,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit mega(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(MEGA).ofA(u).withName("MEGA" + u.getName()).withSymbol("M" + u.getSymbol()).create();
+        return prefix(MEGA,"MEGA","M",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>3</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>3</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"k"</i>.
      *
@@ -955,11 +1099,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit kilo(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(KILO).ofA(u).withName("KILO" + u.getName()).withSymbol("k" + u.getSymbol()).create();
+        return prefix(KILO,"KILO","k",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>2</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>2</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"h"</i>.
      *
@@ -967,11 +1111,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit hecto(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(HECTO).ofA(u).withName("HECTO" + u.getName()).withSymbol("h" + u.getSymbol()).create();
+        return prefix(HECTO,"HECTO","h",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10 times the specified unit.
+     * Returns the unit that is a factor 10 times the specified unit.
      * <p>
      * Denoted by the prefix <i>"da"</i>.
      *
@@ -979,11 +1123,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit deca(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(DECA).ofA(u).withName("DECA" + u.getName()).withSymbol("da" + u.getSymbol()).create();
+        return prefix(DECA,"DECA","da",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-1</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-1</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"d"</i>.
      *
@@ -991,11 +1135,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit deci(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(DECI).ofA(u).withName("DECI" + u.getName()).withSymbol("d" + u.getSymbol()).create();
+        return prefix(DECI,"DECI","d",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-2</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-2</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"c"</i>.
      *
@@ -1003,11 +1147,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit centi(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(CENTI).ofA(u).withName("CENTI" + u.getName()).withSymbol("c" + u.getSymbol()).create();
+        return prefix(CENTI,"CENTI","c",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-3</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-3</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"m"</i>.
      *
@@ -1015,11 +1159,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit milli(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(MILLI).ofA(u).withName("MILLI" + u.getName()).withSymbol("m" + u.getSymbol()).create();
+        return prefix(MILLI,"MILLI","m",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-6</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-6</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"\u03BC"</i>.
      *
@@ -1027,11 +1171,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit micro(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(MICRO).ofA(u).withName("MICRO" + u.getName()).withSymbol("\u03BC" + u.getSymbol()).create();
+        return prefix(MICRO,"MICRO","\u03BC",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-9</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-9</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"n"</i>.
      *
@@ -1039,11 +1183,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit nano(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(NANO).ofA(u).withName("NANO" + u.getName()).withSymbol("n" + u.getSymbol()).create();
+        return prefix(NANO,"NANO","n",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-12</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-12</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"p"</i>.
      *
@@ -1051,11 +1195,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit pico(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(PICO).ofA(u).withName("PICO" + u.getName()).withSymbol("p" + u.getSymbol()).create();
+        return prefix(PICO,"PICO","p",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-15</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-15</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"f"</i>.
      *
@@ -1063,11 +1207,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit femto(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(FEMTO).ofA(u).withName("FEMTO" + u.getName()).withSymbol("f" + u.getSymbol()).create();
+        return prefix(FEMTO,"FEMTO","f",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-18</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-18</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"a"</i>.
      *
@@ -1075,11 +1219,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit atto(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(ATTO).ofA(u).withName("ATTO" + u.getName()).withSymbol("a" + u.getSymbol()).create();
+        return prefix(ATTO,"ATTO","a",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-21</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-21</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"z"</i>.
      *
@@ -1087,11 +1231,11 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit zepto(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(ZEPTO).ofA(u).withName("ZEPTO" + u.getName()).withSymbol("z" + u.getSymbol()).create();
+        return prefix(ZEPTO,"ZEPTO","z",u);
     }
     
     /**
-     * Returns a new unit that is a factor 10<sup>-24</sup> times the specified unit.
+     * Returns the unit that is a factor 10<sup>-24</sup> times the specified unit.
      * <p>
      * Denoted by the prefix <i>"y"</i>.
      *
@@ -1099,7 +1243,12 @@ public abstract class Units {
      * @return a {@link com.jamw.jmud.Unit} object
      */
     public static final Unit yocto(Unit u) {
-        return newUnit().ofDimension(u.getDimension()).asExactly(YOCTO).ofA(u).withName("YOCTO" + u.getName()).withSymbol("y" + u.getSymbol()).create();
+        return prefix(YOCTO,"YOCTO","y",u);
+    }
+    
+    private static Unit prefix(String factor, String name, String symbol, Unit u) {
+        return CANONICAL.intern(new PrefixKey(factor,u),
+                () -> newUnit().ofDimension(u.getDimension()).asExactly(factor).ofA(u).withName(name + u.getName()).withSymbol(symbol + u.getSymbol()).create());
     }
     
     //USC Units
@@ -1470,11 +1619,20 @@ public abstract class Units {
         POUND_PER_CUBIC_FOOT    = newUnit().ofDimension(Dimensions.WEIGHT_DENSITY).as(POUND).divide(CUBIC_FOOT).withName("POUND_PER_CUBIC_FOOT").withSymbol("pcf").create();
         POUND_PER_CUBIC_INCH    = newUnit().ofDimension(Dimensions.WEIGHT_DENSITY).as(POUND).divide(CUBIC_INCH).withName("POUND_PER_CUBIC_INCH").create();
         POUND_PER_CUBIC_YARD    = newUnit().ofDimension(Dimensions.WEIGHT_DENSITY).as(POUND).divide(CUBIC_YARD).withName("POUND_PER_CUBIC_YARD").create();
+        
+        UnitRegistry.Index.registerAlias("h",HOUR);
+        UnitRegistry.Index.registerAlias("deg",DEGREE);
+        UnitRegistry.Index.registerAlias("\u2126",OHM);
+        UnitRegistry.Index.registerAlias("S",SIEMENS);
+        UnitRegistry.Index.registerAlias("lbf",POUND);
+        
+        initializing = false;
     }
     
     static abstract class AbstractUnit implements Unit {
             
         private final String name,symbol;
+        private final Expressions.Memo<Field> scales = new Expressions.Memo<>();
 
         AbstractUnit(String name, String symbol) {
             this.name = name;
@@ -1491,6 +1649,23 @@ public abstract class Units {
             return symbol;
         }
 
+        /**
+         * {@inheritDoc}
+         *
+         * The scale is evaluated from the exact scale of this unit if it has
+         * one, and from its scalar otherwise, on the first request for each
+         * factory.
+         */
+        @Override
+        public final <F extends Field<F>> F getScale(Field.Factory<F> factory) {
+            Field f = scales.get(factory);
+            if (f != null)
+                return (F)f;
+            ExactScale exact = exactScale(this);
+            F v = exact != null ? exact.using(factory) : getScale().using(factory);
+            return (F)scales.putIfAbsent(factory,v);
+        }
+
         @Override
         public final boolean equals(Object o) {
             return super.equals(o);
@@ -1510,6 +1685,71 @@ public abstract class Units {
     public static final UnitBuilder newUnit() {
         return UnitBuilder.NULL_BUILDER;
     }
+    
+    /**
+     * Returns the product of the specified units.  The product with 
+     * {@link #UNITLESS} is the other unit, and other products are interned by 
+     * the pair of units, so that a repeated product is a single lookup.
+     *
+     * @param a a unit.
+     * @param b a unit.
+     * @return a {@link com.jamw.jmud.Unit} object
+     */
+    public static final Unit product(Unit a, Unit b) {
+        if (b.equals(UNITLESS))
+            return a;
+        if (a.equals(UNITLESS))
+            return b;
+        return operation(new OperationKey(OperationKey.PRODUCT,a,b,1,1),
+                () -> newUnit().as(a).multiply(b).create());
+    }
+    
+    /**
+     * Returns the quotient of the specified units.  The quotient by 
+     * {@link #UNITLESS} is the dividend, and other quotients are interned by 
+     * the pair of units, so that a repeated quotient is a single lookup.
+     *
+     * @param a the dividend.
+     * @param b the divisor.
+     * @return a {@link com.jamw.jmud.Unit} object
+     */
+    public static final Unit quotient(Unit a, Unit b) {
+        if (b.equals(UNITLESS))
+            return a;
+        return operation(new OperationKey(OperationKey.QUOTIENT,a,b,1,1),
+                () -> newUnit().as(a).divide(b).create());
+    }
+    
+    /**
+     * Returns the specified unit raised to the specified exponent.  The power
+     * of exponent one is the unit, and other powers are interned by the unit
+     * and the exponent, so that a repeated power is a single lookup.
+     *
+     * @param u a unit.
+     * @param e an exponent.
+     * @return a {@link com.jamw.jmud.Unit} object
+     */
+    public static final Unit power(Unit u, Exponent e) {
+        if (e.isEqualTo(Exponents.ONE))
+            return u;
+        return operation(new OperationKey(OperationKey.POWER,u,UNITLESS,e.numerator(),e.denominator()),
+                () -> newUnit().as(u,e).create());
+    }
+    
+    /**
+     * Returns the interned result of an operation on units.  A result which 
+     * the operands refer to, e.g. the meter of (m/s)&middot;s, is not interned,
+     * since the key of the operands would keep it from being reclaimed.
+     */
+    private static Unit operation(OperationKey key, Supplier<Unit> supplier) {
+        Unit u = CANONICAL.get(key);
+        if (u != null)
+            return u;
+        Unit created = supplier.get();
+        if (key.refersTo(created))
+            return created;
+        return CANONICAL.intern(key,() -> created);
+    }
         
     private static final class UnitBuilderHelper {
         
@@ -1570,7 +1810,7 @@ public abstract class Units {
         private UnitBuilderHelper setDimension(Dimension d) {
             return new UnitBuilderHelper(
                     d,
-                    new HashMap<>(compoundMap),
+                    compoundMap,
                     refUnit,
                     scale,
                     name,
@@ -1580,7 +1820,7 @@ public abstract class Units {
         private UnitBuilderHelper setName(String name) {
             return new UnitBuilderHelper(
                     dimension,
-                    new HashMap<>(compoundMap),
+                    compoundMap,
                     refUnit,
                     scale,
                     name,
@@ -1590,7 +1830,7 @@ public abstract class Units {
         private UnitBuilderHelper setSymbol(String symbol) {
             return new UnitBuilderHelper(
                     dimension,
-                    new HashMap<>(compoundMap),
+                    compoundMap,
                     refUnit,
                     scale,
                     name,
@@ -1600,7 +1840,7 @@ public abstract class Units {
         private UnitBuilderHelper setScale(Scalar scalar) {
             return new UnitBuilderHelper(
                     dimension,
-                    new HashMap<>(compoundMap),
+                    compoundMap,
                     refUnit,
                     scalar,
                     name,
@@ -1610,7 +1850,7 @@ public abstract class Units {
         private UnitBuilderHelper setUnit(Unit u) {
             return new UnitBuilderHelper(
                     dimension,
-                    new HashMap<>(compoundMap),
+                    compoundMap,
                     u,
                     scale,
                     name,
@@ -1618,26 +1858,61 @@ public abstract class Units {
         }
         
         private Unit create() {
+            Unit unit;
             if (!compoundMap.isEmpty()) {
                 if (scale != null)
                     throw new IllegalStateException("scale not unity.");
                 else 
-                    return createCompoundUnit();
+                    unit = createCompoundUnit();
             } else {
-                return createRatioUnit();
+                unit = createRatioUnit();
             }
+            if (initializing)
+                register(unit);
+            return unit;
         }
         
+        /**
+         * Creates a compound unit from the flattened compound map, in which 
+         * anonymous compound units are replaced by their factors and the 
+         * exponents of identical units are combined.  An anonymous compound 
+         * unit of no factors is {@link #UNITLESS}, and one of a single factor
+         * of exponent one is that factor.
+         */
         private Unit createCompoundUnit() {
-            Map<Unit,Exponent> map = new HashMap<>(compoundMap);
-            map = cleanCompoundMap(map);
+            Map<Unit,Exponent> map = removeZeroExponents(flatten(compoundMap));
+            Unit unit;
+            if (isBlank(name) && isBlank(symbol)) {
+                if (map.isEmpty())
+                    unit = Units.UNITLESS;
+                else if (map.size() == 1 && map.values().iterator().next().isEqualTo(Exponents.ONE))
+                    unit = map.keySet().iterator().next();
+                else
+                    unit = CANONICAL.intern(map,() -> createCompoundUnit(map,null,null));
+            } else {
+                unit = createCompoundUnit(cleanCompoundMap(map),name,symbol);
+            }
+            if (dimension != null) 
+                checkDimension(unit.getDimension(),dimension);
+            return unit;
+        }
+        
+        private static Unit createCompoundUnit(Map<Unit,Exponent> map, String name, String symbol) {
+            ExactScale exact = initializing ? UnitCatalog.scale(name) : null;
+            Scalar scal = exact == null ? null : exact.toScalar();
+            boolean exactCatalogued = exact != null;
+            if (!exactCatalogued)
+                exact = ExactScale.ONE;
             Scalar n = Expressions.ONE; //magic number
             Scalar d = Expressions.ONE; //magic number
-            Dimensions.DimensionBuilder db = Dimensions.newDimension();
+            Dimension dim = Dimensions.DIMENSIONLESS;
             for (Entry<Unit,Exponent> en : map.entrySet()) {
                 Unit u = en.getKey();
                 Exponent e = en.getValue();
-                db = db.append(u.getDimension(),e);
+                dim = Dimensions.product(dim,Dimensions.power(u.getDimension(),e));
+                if (exactCatalogued)
+                    continue;
+                exact = exactProduct(exact,exactScale(u),e);
                 Exponent ex;
                 if (e.isGreaterThan(Exponents.ZERO)) {
                     ex = e;
@@ -1656,26 +1931,51 @@ public abstract class Units {
                     d = d.multiply(c);
                 }
             }
-            Scalar scal = n.divide(d);
-            Dimension dim = db.create();
-            if (dimension != null) 
-                checkDimension(dim,dimension);
+            if (scal == null)
+                scal = n.divide(d);
             String nn = isBlank(name) ? calcCompoundName(map) : name;
             String ss = isBlank(symbol) ? calcCompoundSymbol(map) : symbol;
-            return new UnitImpl(dim,scal,nn,ss);
+            Map<Unit,Exponent> factors = isBlank(name) && isBlank(symbol) ? map : null;
+            return new UnitImpl(dim,scal,exact,factors,nn,ss,!isBlank(name),!isBlank(symbol));
+        }
+        
+        private static Map<Unit,Exponent> flatten(Map<Unit,Exponent> map) {
+            Map<Unit,Exponent> m = new HashMap<>();
+            for (Entry<Unit,Exponent> en : map.entrySet()) {
+                Map<Unit,Exponent> factors = en.getKey() instanceof UnitImpl ? ((UnitImpl)en.getKey()).factors : null;
+                if (factors == null) {
+                    m.merge(en.getKey(),en.getValue(),Exponents::product);
+                } else {
+                    for (Entry<Unit,Exponent> f : factors.entrySet())
+                        m.merge(f.getKey(),Exponents.power(f.getValue(),en.getValue()),Exponents::product);
+                }
+            }
+            return m;
+        }
+        
+        private static ExactScale exactProduct(ExactScale exact, ExactScale scale, Exponent e) {
+            if (exact == null || scale == null)
+                return null;
+            try {
+                ExactScale ex = ExactScale.ONE.of(e.numerator()).divide(ExactScale.ONE.of(e.denominator()));
+                return exact.multiply(scale.power(ex));
+            } catch (ArithmeticException ex) {
+                return null;
+            }
         }
         
         private static Map<Unit,Exponent> cleanCompoundMap(Map<Unit,Exponent> map) {
-            map = removeZeroExponents(map);
             if (map.isEmpty())
                 map.put(Units.UNITLESS, Exponents.ONE);
             return map;
         }
         
         private static Map<Unit,Exponent> removeZeroExponents(Map<Unit,Exponent> map) {
-            return map.entrySet().stream()
-                    .filter((e) -> !e.getKey().equals(Units.UNITLESS) && !e.getValue().isEqualTo(Exponents.ZERO))
-                    .collect(Collectors.toMap((e) -> e.getKey(),(e) -> e.getValue()));
+            Map<Unit,Exponent> m = new HashMap<>();
+            for (Entry<Unit,Exponent> e : map.entrySet())
+                if (!e.getKey().equals(Units.UNITLESS) && !e.getValue().isEqualTo(Exponents.ZERO))
+                    m.put(e.getKey(),e.getValue());
+            return m;
         }
         
         private static boolean isBlank(String s) {
@@ -1737,10 +2037,19 @@ public abstract class Units {
         private Unit createRatioUnit() {
             if (dimension != null) 
                 checkDimension(refUnit.getDimension(),dimension);
-            Scalar s = scale.multiply(refUnit.getScale());
             String nn = isBlank(name) ? calcRatioName(scale,refUnit) : name;
             String ss = isBlank(symbol) ? calcRatioSymbol(scale,refUnit) : symbol;
-            return new UnitImpl(refUnit.getDimension(),s,nn,ss);
+            ExactScale exact = initializing ? UnitCatalog.scale(nn) : null;
+            Scalar s;
+            if (exact != null) {
+                s = exact.toScalar();
+            } else {
+                s = scale.multiply(refUnit.getScale());
+                ExactScale r = exactScale(refUnit);
+                ExactScale e = r == null ? null : ExactScale.of(scale);
+                exact = e == null ? null : e.multiply(r);
+            }
+            return new UnitImpl(refUnit.getDimension(),s,exact,null,nn,ss,!isBlank(name),!isBlank(symbol));
         }
         
         private static String calcRatioName(Scalar s,Unit u) {
@@ -2327,17 +2636,167 @@ public abstract class Units {
         }
     }
     
+    /**
+     * Table of canonical instances of anonymous compound units and prefixed units.
+     * 
+     * <p>Units are keyed by their normalized composition of units and exponents, 
+     * or by their prefix and base unit, so that equivalent requests return the 
+     * same instance.  Units are weakly referenced and are removed from the table 
+     * once no longer in use.
+     */
+    private static final class CanonicalUnits {
+        
+        private final Map<Object,UnitReference> table = new ConcurrentHashMap<>();
+        private final ReferenceQueue<Unit> queue = new ReferenceQueue<>();
+        
+        private Unit get(Object key) {
+            UnitReference ref = table.get(key);
+            return ref == null ? null : ref.get();
+        }
+        
+        private Unit intern(Object key, Supplier<Unit> supplier) {
+            purge();
+            Unit u = get(key);
+            if (u != null)
+                return u;
+            Unit created = supplier.get();
+            UnitReference cref = new UnitReference(key,created,queue);
+            while (true) {
+                UnitReference ref = table.putIfAbsent(key,cref);
+                if (ref == null)
+                    return created;
+                u = ref.get();
+                if (u != null)
+                    return u;
+                if (table.replace(key,ref,cref))
+                    return created;
+            }
+        }
+        
+        private void purge() {
+            Reference<? extends Unit> r;
+            while ((r = queue.poll()) != null) {
+                UnitReference ref = (UnitReference)r;
+                table.remove(ref.key,ref);
+            }
+        }
+    }
+    
+    private static final class UnitReference extends WeakReference<Unit> {
+        
+        private final Object key;
+        
+        private UnitReference(Object key, Unit unit, ReferenceQueue<Unit> queue) {
+            super(unit,queue);
+            this.key = key;
+        }
+    }
+    
+    private static final class PrefixKey {
+        
+        private final String factor;
+        private final Unit unit;
+        
+        private PrefixKey(String factor, Unit unit) {
+            this.factor = factor;
+            this.unit = unit;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof PrefixKey))
+                return false;
+            PrefixKey k = (PrefixKey)o;
+            return factor.equals(k.factor) && unit.equals(k.unit);
+        }
+        
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 31 * hash + factor.hashCode();
+            hash = 31 * hash + unit.hashCode();
+            return hash;
+        }
+    }
+    
+    private static final class OperationKey {
+        
+        private static final int PRODUCT = 0, QUOTIENT = 1, POWER = 2; //magic number
+        
+        private final int op;
+        private final Unit a, b;
+        private final int numerator, denominator;
+        private final int hash;
+        
+        private OperationKey(int op, Unit a, Unit b, int numerator, int denominator) {
+            this.op = op;
+            this.a = a;
+            this.b = b;
+            this.numerator = numerator;
+            this.denominator = denominator;
+            int h = 7;
+            h = 31 * h + op;
+            h = 31 * h + a.hashCode();
+            h = 31 * h + b.hashCode();
+            h = 31 * h + numerator;
+            h = 31 * h + denominator;
+            this.hash = h;
+        }
+        
+        /**
+         * Returns true if the specified unit is an operand or a factor of an
+         * operand of this key.
+         */
+        private boolean refersTo(Unit u) {
+            return u.equals(a) || u.equals(b) || isFactor(u,a) || isFactor(u,b);
+        }
+        
+        private static boolean isFactor(Unit u, Unit of) {
+            Map<Unit,Exponent> factors = of instanceof UnitImpl ? ((UnitImpl)of).factors : null;
+            return factors != null && factors.containsKey(u);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (!(o instanceof OperationKey))
+                return false;
+            OperationKey k = (OperationKey)o;
+            return op == k.op
+                    && a.equals(k.a)
+                    && b.equals(k.b)
+                    && numerator == k.numerator
+                    && denominator == k.denominator;
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+    
     private static final class UnitImpl 
             extends AbstractUnit
             implements Unit {
 
         private final Dimension dimension;
         private final Scalar scale;
+        private final ExactScale exact;
+        private final Map<Unit,Exponent> factors;
+        private final boolean givenName;
+        private final boolean givenSymbol;
         
-        private UnitImpl(Dimension dimension, Scalar scale, String name, String symbol) {
+        private UnitImpl(Dimension dimension, Scalar scale, ExactScale exact, Map<Unit,Exponent> factors, String name, String symbol, boolean givenName, boolean givenSymbol) {
             super(name,symbol);
             this.dimension = dimension;
             this.scale = scale;
+            this.exact = exact;
+            this.factors = factors;
+            this.givenName = givenName;
+            this.givenSymbol = givenSymbol;
         }
         
         @Override
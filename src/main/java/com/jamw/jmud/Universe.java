@@ -20,6 +20,7 @@ package com.jamw.jmud;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Factory class for creating fundamental dimensions and fundamental units.
@@ -28,6 +29,8 @@ import java.util.Objects;
  */
 public abstract class Universe {
     
+    private static final AtomicInteger ORDINALS = new AtomicInteger();
+    
     static final FundamentalDimension DIMENSIONLESS,
                                       MASS,
                                       LENGTH,
@@ -139,6 +142,18 @@ public abstract class Universe {
                 FundamentalUnitSymbol);
     }
     
+    /**
+     * Returns the ordinal of the specified fundamental dimension.  Fundamental 
+     * dimensions created by this class are numbered densely from zero in the
+     * order of their creation; {@code -1} is returned for any other 
+     * implementation.
+     */
+    static int ordinal(FundamentalDimension fd) {
+        if (fd instanceof FundamentalDimensionImpl)
+            return ((FundamentalDimensionImpl)fd).ordinal;
+        return -1; //magic number
+    }
+    
     private static void checkString(String s) {
         Objects.requireNonNull(s);
         if (s.isBlank())
@@ -177,6 +192,7 @@ public abstract class Universe {
             extends Dimensions.AbstractDimension
             implements FundamentalDimension {
         
+        private final int ordinal;
         private final Composition composition;
         private final FundamentalUnit fundamentalUnit;
         
@@ -185,6 +201,7 @@ public abstract class Universe {
                                          String fundamentalUnitName,
                                          String fundamentalUnitSymbol) {
             super(fundamentalDimensionName,fundamentalDimensionSymbol);
+            ordinal = ORDINALS.getAndIncrement();
             composition = new FundamentalDimensionCompositionImpl();
             fundamentalUnit = new FundamentalUnitImpl(this,fundamentalUnitName,fundamentalUnitSymbol);
         }
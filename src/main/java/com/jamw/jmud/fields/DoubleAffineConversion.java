@@ -0,0 +1,172 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.AffineScale;
+import com.jamw.jmud.IncommensurableDimensionException;
+import com.jamw.jmud.Level;
+import com.jamw.jmud.Scale;
+import com.jamw.jmud.Scales;
+import java.util.Objects;
+
+/**
+ * The conversion of levels between two {@linkplain AffineScale affine scales},
+ * for example from {@linkplain Scales#FAHRENHEIT fahrenheit} to 
+ * {@linkplain Scales#CELSIUS celsius}, on {@code double} primitives.
+ * 
+ * <p>The level <i>y</i> of the target scale equivalent to the level <i>x</i>
+ * of the source scale is <i>y = p•x + q</i>.  The coefficients are calculated
+ * when the conversion is created, so that converting a value is a single
+ * multiplication and addition, and converting an array of values is a single
+ * multiplication and addition per element.
+ * 
+ * <p>All instances of this class are immutable and thread-safe.
+ * 
+ * @see Scales#convert(com.jamw.jmud.Level, com.jamw.jmud.Scale)
+ * 
+ * @author andreww1011
+ */
+public final class DoubleAffineConversion {
+    
+    /**
+     * Returns the conversion of levels from the source scale to the target 
+     * scale.
+     * 
+     * @param from the source scale.
+     * @param to the target scale.
+     * @return a {@link com.jamw.jmud.fields.DoubleAffineConversion} object
+     * @throws IllegalArgumentException if either scale is not an affine scale.
+     * @throws IncommensurableDimensionException if the reference units of the
+     * scales are not commensurable.
+     */
+    public static final DoubleAffineConversion of(Scale from, Scale to) {
+        AffineScale f = affine(from);
+        AffineScale t = affine(to);
+        return new DoubleAffineConversion(from,to,
+                Scales.conversionSlope(f,t,DoubleField.factory()).value(),
+                Scales.conversionOffset(f,t,DoubleField.factory()).value());
+    }
+    
+    private static AffineScale affine(Scale s) {
+        if (!(s instanceof AffineScale))
+            throw new IllegalArgumentException("Scale " + s.getName() + " is not an affine scale.");
+        return (AffineScale)s;
+    }
+    
+    private final Scale from, to;
+    private final double slope, offset;
+    
+    private DoubleAffineConversion(Scale from, Scale to, double slope, double offset) {
+        this.from = from;
+        this.to = to;
+        this.slope = slope;
+        this.offset = offset;
+    }
+    
+    /**
+     * Returns the source scale of this conversion.
+     *
+     * @return a {@link com.jamw.jmud.Scale} object
+     */
+    public Scale getSource() {
+        return from;
+    }
+    
+    /**
+     * Returns the target scale of this conversion.
+     *
+     * @return a {@link com.jamw.jmud.Scale} object
+     */
+    public Scale getTarget() {
+        return to;
+    }
+    
+    /**
+     * Returns the coefficient <i>p</i> of this conversion.
+     *
+     * @return a double
+     */
+    public double slope() {
+        return slope;
+    }
+    
+    /**
+     * Returns the coefficient <i>q</i> of this conversion.
+     *
+     * @return a double
+     */
+    public double offset() {
+        return offset;
+    }
+    
+    /**
+     * Returns the level of the target scale equivalent to the specified level
+     * of the source scale.
+     *
+     * @param value a level value of the source scale.
+     * @return a double
+     */
+    public double convert(double value) {
+        return value * slope + offset;
+    }
+    
+    /**
+     * Returns the level of the target scale equivalent to the specified level
+     * of the source scale.
+     *
+     * @param level a level of the source scale.
+     * @return a {@link com.jamw.jmud.Level} object
+     * @throws IllegalArgumentException if the level is not of the source scale.
+     */
+    public Level<DoubleField> convert(Level<DoubleField> level) {
+        if (!level.getScale().equals(from))
+            throw new IllegalArgumentException("Level is not of scale " + from.getName() + ".");
+        return to.of(DoubleField.of(convert(level.getField().value())));
+    }
+    
+    /**
+     * Converts the level values of the source array from the source scale to
+     * the target scale, writing the results to the destination array.  The 
+     * arrays may be the same array.
+     *
+     * @param source the level values to convert.
+     * @param destination the array of the converted values, at least as long
+     * as the source array.
+     * @throws IndexOutOfBoundsException if the destination array is shorter
+     * than the source array.
+     */
+    public void convert(double[] source, double[] destination) {
+        Objects.checkFromIndexSize(0,source.length,destination.length);
+        double p = slope, q = offset;
+        for (int i = 0; i < source.length; i++)
+            destination[i] = source[i] * p + q;
+    }
+    
+    /**
+     * Returns the level values of the specified array converted from the 
+     * source scale to the target scale, as a new array.
+     *
+     * @param values the level values to convert.
+     * @return an array of doubles
+     */
+    public double[] convert(double[] values) {
+        double[] d = new double[values.length];
+        convert(values,d);
+        return d;
+    }
+}
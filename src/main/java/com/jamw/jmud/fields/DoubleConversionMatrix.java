@@ -0,0 +1,192 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.ConversionMatrix;
+import com.jamw.jmud.Conversions;
+import com.jamw.jmud.IncommensurableDimensionException;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Unit;
+import java.util.Objects;
+
+/**
+ * The conversion factors between every pair of a family of commensurable
+ * units, stored as a flat array of {@code double} primitives.
+ * 
+ * <p>Units are identified by their index in the family.  All factors are 
+ * calculated when the matrix is created, so that converting a value by a pair
+ * of indices is a single array read and multiplication, and converting an 
+ * array of values is a single multiplication per element.
+ * 
+ * <p>All instances of this class are immutable and thread-safe.
+ * 
+ * @see Conversions#matrix(com.jamw.jmud.Field.Factory, com.jamw.jmud.Unit...)
+ * 
+ * @author andreww1011
+ */
+public final class DoubleConversionMatrix {
+    
+    /**
+     * Returns the matrix of conversion factors between every pair of the 
+     * specified units.
+     * 
+     * @param units the commensurable units of the matrix.
+     * @return a {@link com.jamw.jmud.fields.DoubleConversionMatrix} object
+     * @throws IncommensurableDimensionException if the dimensions of the
+     * specified units are not commensurable.
+     * @throws IllegalArgumentException if no unit is specified.
+     */
+    public static final DoubleConversionMatrix of(Unit... units) {
+        ConversionMatrix<DoubleField> m = Conversions.matrix(DoubleField.factory(),units);
+        int n = m.size();
+        Unit[] u = new Unit[n];
+        double[] factors = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            u[i] = m.getUnit(i);
+            for (int j = 0; j < n; j++)
+                factors[i * n + j] = m.factor(i,j).value();
+        }
+        return new DoubleConversionMatrix(u,factors);
+    }
+    
+    private final Unit[] units;
+    private final double[] factors;
+    
+    private DoubleConversionMatrix(Unit[] units, double[] factors) {
+        this.units = units;
+        this.factors = factors;
+    }
+    
+    /**
+     * Returns the number of units of this matrix.
+     *
+     * @return an int
+     */
+    public int size() {
+        return units.length;
+    }
+    
+    /**
+     * Returns the unit at the specified index.
+     *
+     * @param index an index.
+     * @return a {@link com.jamw.jmud.Unit} object
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public Unit getUnit(int index) {
+        return units[index];
+    }
+    
+    /**
+     * Returns the index of the first occurrence of the specified unit in this
+     * matrix, or {@code -1} if there is none.
+     *
+     * @param unit a unit.
+     * @return an int
+     */
+    public int indexOf(Unit unit) {
+        for (int i = 0; i < units.length; i++)
+            if (units[i].equals(unit))
+                return i;
+        return -1; //magic number
+    }
+    
+    /**
+     * Returns the factor by which a value in the unit at index {@code from} is
+     * multiplied to obtain the equivalent value in the unit at index {@code to}.
+     *
+     * @param from the index of the source unit.
+     * @param to the index of the target unit.
+     * @return a double
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public double factor(int from, int to) {
+        return factors[index(from,to)];
+    }
+    
+    /**
+     * Returns the specified value in the unit at index {@code from} converted
+     * to the unit at index {@code to}.
+     *
+     * @param value a value.
+     * @param from the index of the unit of the value.
+     * @param to the index of the target unit.
+     * @return a double
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public double convert(double value, int from, int to) {
+        return value * factors[index(from,to)];
+    }
+    
+    /**
+     * Returns the specified measure converted to the unit at index {@code to}.
+     *
+     * @param measure a measure of a unit of this matrix.
+     * @param to the index of the target unit.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws IllegalArgumentException if the unit of the measure is not a 
+     * unit of this matrix.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public DoubleMeasure convert(Measure<DoubleField> measure, int to) {
+        int from = indexOf(measure.getUnit());
+        if (from < 0)
+            throw new IllegalArgumentException("Unit " + measure.getUnit().getName() + " is not a unit of this conversion matrix.");
+        return DoubleMeasure.of(convert(DoubleMeasure.of(measure).value(),from,to),units[to]);
+    }
+    
+    /**
+     * Converts the values of the source array in the unit at index 
+     * {@code from} to the unit at index {@code to}, writing the results to the
+     * destination array.  The arrays may be the same array.
+     *
+     * @param source the values to convert.
+     * @param from the index of the unit of the source values.
+     * @param destination the array of the converted values, at least as long
+     * as the source array.
+     * @param to the index of the target unit.
+     * @throws IndexOutOfBoundsException if an index is out of range, or the
+     * destination array is shorter than the source array.
+     */
+    public void convert(double[] source, int from, double[] destination, int to) {
+        double f = factors[index(from,to)];
+        Objects.checkFromIndexSize(0,source.length,destination.length);
+        for (int i = 0; i < source.length; i++)
+            destination[i] = source[i] * f;
+    }
+    
+    /**
+     * Returns the values of the specified array in the unit at index 
+     * {@code from} converted to the unit at index {@code to}, as a new array.
+     *
+     * @param values the values to convert.
+     * @param from the index of the unit of the values.
+     * @param to the index of the target unit.
+     * @return an array of doubles
+     * @throws IndexOutOfBoundsException if an index is out of range.
+     */
+    public double[] convert(double[] values, int from, int to) {
+        double[] d = new double[values.length];
+        convert(values,from,d,to);
+        return d;
+    }
+    
+    private int index(int from, int to) {
+        return Objects.checkIndex(from,units.length) * units.length + Objects.checkIndex(to,units.length);
+    }
+}
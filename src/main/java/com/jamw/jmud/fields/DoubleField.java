@@ -77,6 +77,18 @@ public final class DoubleField implements Field<DoubleField>, Field.Factory<Doub
         return new DoubleField(value);
     }
     
+    /**
+     * Returns the scale of the specified unit as a {@code double}.  The scale
+     * is read from the value the unit holds for this field, which is evaluated
+     * once on first use.
+     *
+     * @param unit a unit.
+     * @return a double
+     */
+    public static final double scaleOf(Unit unit) {
+        return unit.getScale(ZERO).value;
+    }
+    
     private final double value;
     
     private DoubleField(double value) {
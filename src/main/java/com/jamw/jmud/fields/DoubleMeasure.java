@@ -0,0 +1,508 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.Conversions;
+import com.jamw.jmud.Dimension;
+import com.jamw.jmud.Exponent;
+import com.jamw.jmud.Expression;
+import com.jamw.jmud.Field;
+import com.jamw.jmud.IncommensurableDimensionException;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Scalar;
+import com.jamw.jmud.Unit;
+import com.jamw.jmud.Units;
+
+/**
+ * A {@link com.jamw.jmud.Measure Measure} implementation holding a 
+ * {@code double} primitive and a unit directly.
+ * 
+ * <p>Unlike a general {@code Measure<DoubleField>}, the arithmetic of this 
+ * class operates on the underlying {@code double} and does not allocate an 
+ * intermediate {@link DoubleField} per operation.  Conversions between units
+ * multiply by the cached conversion factor of the units, and products and
+ * quotients of units are cached per pair of units; multiplying or dividing by a
+ * dimensionless {@code double} keeps the unit.  The {@code DoubleField} 
+ * of a measure is created only when requested by {@link #getField()}.
+ * 
+ * <p>Instances of this class are interoperable with other implementations of
+ * {@code Measure<DoubleField>}: a measure of this class is equal to any other
+ * {@code Measure<DoubleField>} of equal value and unit, and the results of its
+ * operations have the same values and units as the results of the corresponding 
+ * operations of a general {@code Measure<DoubleField>}.
+ * 
+ * <p>All instances of this class are immutable and thread-safe.
+ * 
+ * @author andreww1011
+ */
+public final class DoubleMeasure implements Measure<DoubleField> {
+    
+    /**
+     * Returns a {@code DoubleMeasure} of the specified double and unit.
+     * 
+     * @param value a double number.
+     * @param unit the unit of the specified number.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     */
+    public static final DoubleMeasure of(double value, Unit unit) {
+        return new DoubleMeasure(value,unit);
+    }
+    
+    /**
+     * Returns a {@code DoubleMeasure} of the value and unit of the specified measure.
+     * 
+     * @param measure a measure.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     */
+    public static final DoubleMeasure of(Measure<DoubleField> measure) {
+        if (measure instanceof DoubleMeasure)
+            return (DoubleMeasure)measure;
+        return new DoubleMeasure(measure.getField().value(),measure.getUnit());
+    }
+    
+    private final double value;
+    private final Unit unit;
+    
+    private DoubleMeasure(double value, Unit unit) {
+        this.value = value;
+        this.unit = unit;
+    }
+    
+    /**
+     * Returns the {@code double} value underlying this measure.
+     *
+     * @return a double
+     */
+    public double value() {
+        return value;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public DoubleField getField() {
+        return DoubleField.of(value);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Unit getUnit() {
+        return unit;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public Field.Factory<DoubleField> getFactory() {
+        return DoubleField.factory();
+    }
+    
+    private static double valueOf(Measure<DoubleField> measure) {
+        if (measure instanceof DoubleMeasure)
+            return ((DoubleMeasure)measure).value;
+        return measure.getField().value();
+    }
+    
+    private static double valueOf(Scalar scalar) {
+        return scalar.using(DoubleField.factory()).value();
+    }
+    
+    private static double valueOf(String value) {
+        return Double.parseDouble(value);
+    }
+    
+    private static double factor(Unit from, Unit to) {
+        if (from.equals(to))
+            return 1;
+        return Conversions.factor(from,to,DoubleField.factory()).value();
+    }
+    
+    private static double baseUnitValue(double value, Unit unit) {
+        return value * DoubleField.scaleOf(unit);
+    }
+    
+    private static double checkDivisor(double d) {
+        if (d == 0)
+            throw new ArithmeticException("Division by zero");
+        return d;
+    }
+    
+    private static double checkNan(double d) {
+        if (Double.isNaN(d) || Double.isInfinite(d))
+            throw new ArithmeticException();
+        return d;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public int compareTo(Measure<DoubleField> measure) 
+            throws IncommensurableDimensionException {
+        Dimension.assertCommensurable(unit.getDimension(),measure.getUnit().getDimension());
+        double f1 = baseUnitValue(value,unit);
+        double f2 = baseUnitValue(valueOf(measure),measure.getUnit());
+        return Double.compare(f1,f2);
+    }
+
+    /**
+     * Returns a measure whose value is the sum of this measure and the
+     * specified value of the specified unit, expressed in the unit of this measure.
+     * 
+     * @param value a double.
+     * @param unit the unit of the specified value.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws IncommensurableDimensionException if the dimension of the 
+     * specified unit is not commensurable with the dimension of this measure.
+     */
+    public DoubleMeasure add(double value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return new DoubleMeasure(this.value + value * factor(unit,this.unit),this.unit);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure add(int value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return add((double)value,unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure add(String value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return add(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure add(Scalar value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return add(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure add(DoubleField value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return add(value.value(),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure add(Measure<DoubleField> measure) 
+            throws IncommensurableDimensionException {
+        return add(valueOf(measure),measure.getUnit());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure add(Expression expression) 
+            throws IncommensurableDimensionException {
+        return add(expression.using(DoubleField.factory()));
+    }
+
+    /**
+     * Returns a measure whose value is the difference of this measure and the
+     * specified value of the specified unit, expressed in the unit of this measure.
+     * 
+     * @param value a double.
+     * @param unit the unit of the specified value.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws IncommensurableDimensionException if the dimension of the 
+     * specified unit is not commensurable with the dimension of this measure.
+     */
+    public DoubleMeasure subtract(double value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return new DoubleMeasure(this.value - value * factor(unit,this.unit),this.unit);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure subtract(int value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return subtract((double)value,unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure subtract(String value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return subtract(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure subtract(Scalar value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return subtract(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure subtract(DoubleField value, Unit unit) 
+            throws IncommensurableDimensionException {
+        return subtract(value.value(),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure subtract(Measure<DoubleField> measure) 
+            throws IncommensurableDimensionException {
+        return subtract(valueOf(measure),measure.getUnit());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure subtract(Expression expression) 
+            throws IncommensurableDimensionException {
+        return subtract(expression.using(DoubleField.factory()));
+    }
+
+    /**
+     * Returns a measure whose value is the product of this measure and the
+     * specified dimensionless scalar.
+     * 
+     * @param scalar a double.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     */
+    public DoubleMeasure multiply(double scalar) {
+        return new DoubleMeasure(value * scalar,unit);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(int scalar) {
+        return multiply((double)scalar);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(String scalar) {
+        return multiply(valueOf(scalar));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(Scalar scalar) {
+        return multiply(valueOf(scalar));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(DoubleField scalar) {
+        return multiply(scalar.value());
+    }
+
+    /**
+     * Returns a measure whose value is the product of this measure and the
+     * specified value of the specified unit.
+     * 
+     * @param value a double.
+     * @param unit the unit of the specified value.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     */
+    public DoubleMeasure multiply(double value, Unit unit) {
+        return new DoubleMeasure(this.value * value,Units.product(this.unit,unit));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(int value, Unit unit) {
+        return multiply((double)value,unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(String value, Unit unit) {
+        return multiply(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(Scalar value, Unit unit) {
+        return multiply(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(DoubleField value, Unit unit) {
+        return multiply(value.value(),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(Measure<DoubleField> measure) {
+        return multiply(valueOf(measure),measure.getUnit());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure multiply(Expression expression) {
+        return multiply(expression.using(DoubleField.factory()));
+    }
+
+    /**
+     * Returns a measure whose value is the quotient of this measure and the
+     * specified dimensionless scalar.
+     * 
+     * @param scalar a double.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws ArithmeticException if the specified scalar is zero.
+     */
+    public DoubleMeasure divide(double scalar) 
+            throws ArithmeticException {
+        return new DoubleMeasure(value / checkDivisor(scalar),unit);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(int scalar) 
+            throws ArithmeticException {
+        return divide((double)scalar);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(String scalar) 
+            throws ArithmeticException {
+        return divide(valueOf(scalar));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(Scalar scalar) 
+            throws ArithmeticException {
+        return divide(valueOf(scalar));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(DoubleField scalar) 
+            throws ArithmeticException {
+        return divide(scalar.value());
+    }
+
+    /**
+     * Returns a measure whose value is the quotient of this measure and the
+     * specified value of the specified unit.
+     * 
+     * @param value a double.
+     * @param unit the unit of the specified value.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws ArithmeticException if the specified value is zero.
+     */
+    public DoubleMeasure divide(double value, Unit unit) 
+            throws ArithmeticException {
+        double v = this.value / checkDivisor(value);
+        return new DoubleMeasure(v,Units.quotient(this.unit,unit));
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(int value, Unit unit) 
+            throws ArithmeticException {
+        return divide((double)value,unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(String value, Unit unit) 
+            throws ArithmeticException {
+        return divide(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(Scalar value, Unit unit) 
+            throws ArithmeticException {
+        return divide(valueOf(value),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(DoubleField value, Unit unit) 
+            throws ArithmeticException {
+        return divide(value.value(),unit);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(Measure<DoubleField> measure) 
+            throws ArithmeticException {
+        return divide(valueOf(measure),measure.getUnit());
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure divide(Expression expression) 
+            throws ArithmeticException {
+        return divide(expression.using(DoubleField.factory()));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure power(Exponent exponent) 
+            throws ArithmeticException {
+        double e = exponent.numerator();
+        if (exponent.denominator() != 1) //magic number
+            e = e / exponent.denominator();
+        double v = checkNan(Math.pow(value,e));
+        Unit u = Units.power(unit,exponent);
+        return new DoubleMeasure(v,u);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public DoubleMeasure as(Unit unit) 
+            throws IncommensurableDimensionException {
+        if (this.unit.equals(unit))
+            return this;
+        return new DoubleMeasure(value * factor(this.unit,unit),unit);
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o instanceof DoubleMeasure) {
+            DoubleMeasure om = (DoubleMeasure)o;
+            return this.unit.equals(om.unit)
+                    && Double.compare(value,om.value) == 0;
+        }
+        if (!(o instanceof Measure))
+            return false;
+        Measure om = (Measure)o;
+        if (!(om.getField() instanceof DoubleField))
+            return false;
+        return this.unit.equals(om.getUnit())
+                && Double.compare(value,valueOf((Measure<DoubleField>)om)) == 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 37 * hash + Double.hashCode(value);
+        hash = 37 * hash + unit.hashCode();
+        return hash;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return Double.toString(value) + " " + unit.getSymbol();
+    }
+}
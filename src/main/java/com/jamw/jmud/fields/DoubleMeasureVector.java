@@ -0,0 +1,430 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.Conversions;
+import com.jamw.jmud.Dimension;
+import com.jamw.jmud.IncommensurableDimensionException;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Unit;
+import com.jamw.jmud.Units;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A columnar sequence of measures of a common unit, stored as an array of
+ * {@code double} primitives.
+ * 
+ * <p>The arithmetic of this class operates element-wise on the underlying
+ * array.  Dimension checks, unit algebra and conversion factors are resolved
+ * once per operation rather than once per element: adding a vector of a 
+ * different unit multiplies each element by a single conversion factor, and 
+ * {@link #as(Unit)} is a single multiplication of the array.
+ * 
+ * <p>Element-wise operations between two vectors require the vectors to be of
+ * equal size.  Operations against a single {@link com.jamw.jmud.Measure Measure}
+ * apply the measure to every element.
+ * 
+ * <p>All instances of this class are immutable and thread-safe.
+ * 
+ * @author andreww1011
+ */
+public final class DoubleMeasureVector {
+    
+    /**
+     * Returns a vector of the specified values of the specified unit.  The 
+     * specified array is copied.
+     * 
+     * @param values an array of doubles.
+     * @param unit the unit of the specified values.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     */
+    public static final DoubleMeasureVector of(double[] values, Unit unit) {
+        return new DoubleMeasureVector(values.clone(),unit);
+    }
+    
+    private final double[] values;
+    private final Unit unit;
+    
+    private DoubleMeasureVector(double[] values, Unit unit) {
+        this.values = values;
+        this.unit = unit;
+    }
+    
+    /**
+     * Returns the number of measures in this vector.
+     *
+     * @return an int
+     */
+    public int size() {
+        return values.length;
+    }
+    
+    /**
+     * Returns the unit of the measures of this vector.
+     *
+     * @return a {@link com.jamw.jmud.Unit} object
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+    
+    /**
+     * Returns the dimension of the measures of this vector.
+     *
+     * @return a {@link com.jamw.jmud.Dimension} object
+     */
+    public Dimension getDimension() {
+        return unit.getDimension();
+    }
+    
+    /**
+     * Returns the {@code double} value of the measure at the specified index.
+     *
+     * @param index an index.
+     * @return a double
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public double value(int index) {
+        return values[index];
+    }
+    
+    /**
+     * Returns the measure at the specified index.
+     *
+     * @param index an index.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public DoubleMeasure get(int index) {
+        return DoubleMeasure.of(values[index],unit);
+    }
+    
+    /**
+     * Returns a copy of the {@code double} values of this vector.
+     *
+     * @return an array of doubles
+     */
+    public double[] toArray() {
+        return values.clone();
+    }
+    
+    private static double factor(Unit from, Unit to) {
+        if (from.equals(to))
+            return 1;
+        return Conversions.factor(from,to,DoubleField.factory()).value();
+    }
+    
+    private static double valueOf(Measure<DoubleField> measure) {
+        return DoubleMeasure.of(measure).value();
+    }
+    
+    private void checkSize(DoubleMeasureVector vector) {
+        if (vector.values.length != values.length)
+            throw new IllegalArgumentException("Vector sizes differ: " + values.length + " and " + vector.values.length + ".");
+    }
+    
+    private static double checkDivisor(double d) {
+        if (d == 0)
+            throw new ArithmeticException("Division by zero");
+        return d;
+    }
+    
+    /**
+     * Returns a vector whose elements are the sums of the elements of this 
+     * vector and the elements of the specified vector, expressed in the unit
+     * of this vector.
+     *
+     * @param vector a vector of the same size.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws IncommensurableDimensionException if the dimension of the 
+     * specified vector is not commensurable with the dimension of this vector.
+     * @throws IllegalArgumentException if the vectors differ in size.
+     */
+    public DoubleMeasureVector add(DoubleMeasureVector vector) 
+            throws IncommensurableDimensionException {
+        checkSize(vector);
+        double f = factor(vector.unit,unit);
+        double[] v = new double[values.length];
+        double[] o = vector.values;
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] + o[i] * f;
+        return new DoubleMeasureVector(v,unit);
+    }
+    
+    /**
+     * Returns a vector whose elements are the sums of the elements of this 
+     * vector and the specified measure, expressed in the unit of this vector.
+     *
+     * @param measure a measure.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws IncommensurableDimensionException if the dimension of the 
+     * specified measure is not commensurable with the dimension of this vector.
+     */
+    public DoubleMeasureVector add(Measure<DoubleField> measure) 
+            throws IncommensurableDimensionException {
+        double a = valueOf(measure) * factor(measure.getUnit(),unit);
+        double[] v = new double[values.length];
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] + a;
+        return new DoubleMeasureVector(v,unit);
+    }
+    
+    /**
+     * Returns a vector whose elements are the differences of the elements of 
+     * this vector and the elements of the specified vector, expressed in the 
+     * unit of this vector.
+     *
+     * @param vector a vector of the same size.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws IncommensurableDimensionException if the dimension of the 
+     * specified vector is not commensurable with the dimension of this vector.
+     * @throws IllegalArgumentException if the vectors differ in size.
+     */
+    public DoubleMeasureVector subtract(DoubleMeasureVector vector) 
+            throws IncommensurableDimensionException {
+        checkSize(vector);
+        double f = factor(vector.unit,unit);
+        double[] v = new double[values.length];
+        double[] o = vector.values;
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] - o[i] * f;
+        return new DoubleMeasureVector(v,unit);
+    }
+    
+    /**
+     * Returns a vector whose elements are the differences of the elements of 
+     * this vector and the specified measure, expressed in the unit of this vector.
+     *
+     * @param measure a measure.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws IncommensurableDimensionException if the dimension of the 
+     * specified measure is not commensurable with the dimension of this vector.
+     */
+    public DoubleMeasureVector subtract(Measure<DoubleField> measure) 
+            throws IncommensurableDimensionException {
+        double a = valueOf(measure) * factor(measure.getUnit(),unit);
+        double[] v = new double[values.length];
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] - a;
+        return new DoubleMeasureVector(v,unit);
+    }
+    
+    /**
+     * Returns a vector whose elements are the products of the elements of this 
+     * vector and the elements of the specified vector.
+     *
+     * @param vector a vector of the same size.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws IllegalArgumentException if the vectors differ in size.
+     */
+    public DoubleMeasureVector multiply(DoubleMeasureVector vector) {
+        checkSize(vector);
+        Unit u = Units.product(unit,vector.unit);
+        double[] v = new double[values.length];
+        double[] o = vector.values;
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] * o[i];
+        return new DoubleMeasureVector(v,u);
+    }
+    
+    /**
+     * Returns a vector whose elements are the products of the elements of this 
+     * vector and the specified measure.
+     *
+     * @param measure a measure.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     */
+    public DoubleMeasureVector multiply(Measure<DoubleField> measure) {
+        Unit u = Units.product(unit,measure.getUnit());
+        return scale(valueOf(measure),u);
+    }
+    
+    /**
+     * Returns a vector whose elements are the products of the elements of this 
+     * vector and the specified dimensionless scalar.
+     *
+     * @param scalar a double.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     */
+    public DoubleMeasureVector multiply(double scalar) {
+        return scale(scalar,unit);
+    }
+    
+    /**
+     * Returns a vector whose elements are the quotients of the elements of this 
+     * vector and the elements of the specified vector.
+     *
+     * @param vector a vector of the same size.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws ArithmeticException if an element of the specified vector is zero.
+     * @throws IllegalArgumentException if the vectors differ in size.
+     */
+    public DoubleMeasureVector divide(DoubleMeasureVector vector) 
+            throws ArithmeticException {
+        checkSize(vector);
+        Unit u = Units.quotient(unit,vector.unit);
+        double[] v = new double[values.length];
+        double[] o = vector.values;
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] / checkDivisor(o[i]);
+        return new DoubleMeasureVector(v,u);
+    }
+    
+    /**
+     * Returns a vector whose elements are the quotients of the elements of this 
+     * vector and the specified measure.
+     *
+     * @param measure a measure.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws ArithmeticException if the specified measure is zero.
+     */
+    public DoubleMeasureVector divide(Measure<DoubleField> measure) 
+            throws ArithmeticException {
+        double d = checkDivisor(valueOf(measure));
+        Unit u = Units.quotient(unit,measure.getUnit());
+        double[] v = new double[values.length];
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] / d;
+        return new DoubleMeasureVector(v,u);
+    }
+    
+    /**
+     * Returns a vector whose elements are the quotients of the elements of this 
+     * vector and the specified dimensionless scalar.
+     *
+     * @param scalar a double.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws ArithmeticException if the specified scalar is zero.
+     */
+    public DoubleMeasureVector divide(double scalar) 
+            throws ArithmeticException {
+        double d = checkDivisor(scalar);
+        double[] v = new double[values.length];
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] / d;
+        return new DoubleMeasureVector(v,unit);
+    }
+    
+    /**
+     * Returns this vector converted to the specified unit.  Every element is
+     * multiplied by the same conversion factor.
+     *
+     * @param unit the target unit.
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasureVector} object
+     * @throws IncommensurableDimensionException if the dimension of the 
+     * specified unit is not commensurable with the dimension of this vector.
+     */
+    public DoubleMeasureVector as(Unit unit) 
+            throws IncommensurableDimensionException {
+        if (this.unit.equals(unit))
+            return this;
+        return scale(factor(this.unit,unit),unit);
+    }
+    
+    private DoubleMeasureVector scale(double f, Unit u) {
+        double[] v = new double[values.length];
+        for (int i = 0; i < v.length; i++)
+            v[i] = values[i] * f;
+        return new DoubleMeasureVector(v,u);
+    }
+    
+    /**
+     * Returns the sum of the measures of this vector.  The sum of an empty
+     * vector is zero.
+     *
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     */
+    public DoubleMeasure sum() {
+        double s = 0;
+        for (double d : values)
+            s += d;
+        return DoubleMeasure.of(s,unit);
+    }
+    
+    /**
+     * Returns the arithmetic mean of the measures of this vector.
+     *
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws NoSuchElementException if this vector is empty.
+     */
+    public DoubleMeasure mean() throws NoSuchElementException {
+        checkNotEmpty();
+        return DoubleMeasure.of(sum().value() / values.length,unit);
+    }
+    
+    /**
+     * Returns the least measure of this vector.
+     *
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws NoSuchElementException if this vector is empty.
+     */
+    public DoubleMeasure min() throws NoSuchElementException {
+        checkNotEmpty();
+        double m = values[0];
+        for (int i = 1; i < values.length; i++)
+            m = Math.min(m,values[i]);
+        return DoubleMeasure.of(m,unit);
+    }
+    
+    /**
+     * Returns the greatest measure of this vector.
+     *
+     * @return a {@link com.jamw.jmud.fields.DoubleMeasure} object
+     * @throws NoSuchElementException if this vector is empty.
+     */
+    public DoubleMeasure max() throws NoSuchElementException {
+        checkNotEmpty();
+        double m = values[0];
+        for (int i = 1; i < values.length; i++)
+            m = Math.max(m,values[i]);
+        return DoubleMeasure.of(m,unit);
+    }
+    
+    private void checkNotEmpty() {
+        if (values.length == 0)
+            throw new NoSuchElementException("Vector is empty.");
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (!(o instanceof DoubleMeasureVector))
+            return false;
+        DoubleMeasureVector ov = (DoubleMeasureVector)o;
+        return this.unit.equals(ov.unit)
+                && Arrays.equals(this.values,ov.values);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 37 * hash + Arrays.hashCode(values);
+        hash = 37 * hash + unit.hashCode();
+        return hash;
+    }
+    
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+        return Arrays.toString(values) + " " + unit.getSymbol();
+    }
+}
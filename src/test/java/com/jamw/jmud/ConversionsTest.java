@@ -0,0 +1,99 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import com.jamw.jmud.fields.DoubleField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class ConversionsTest {
+    
+    private static final Unit KILOMETER = Units.kilo(Units.METER);
+    
+    @Test
+    public void factorIsRatioOfScales() {
+        DoubleField f = Conversions.factor(KILOMETER,Units.METER,DoubleField.factory());
+        assertEquals(1000,f.value());
+    }
+    
+    @Test
+    public void exactScalesAreReducedBeforeEvaluation() {
+        assertEquals(ExactScale.ONE.of(1000000),Units.exactScale(KILOMETER).divide(Units.exactScale(Units.MILLIMETER)));
+        assertEquals(1e6,Conversions.factor(KILOMETER,Units.MILLIMETER,DoubleField.factory()).value());
+        assertEquals(1e-6,Conversions.factor(Units.MILLIMETER,KILOMETER,DoubleField.factory()).value());
+        assertEquals(Math.PI / 180,Conversions.factor(Units.DEGREE,Units.RADIAN,DoubleField.factory()).value());
+        assertEquals("1/180*pi",Units.exactScale(Units.DEGREE).toString());
+        Unit u = Units.newUnit().as(Units.METER,1,2).create();
+        assertEquals(ExactScale.ONE,Units.exactScale(u));
+    }
+    
+    @Test
+    public void exactnessIsGivenUpForLargePowers() {
+        Unit u = Units.newUnit().as(Units.INCH,100000).create();
+        assertNull(Units.exactScale(u));
+        u = Units.newUnit().as(Units.INCH,2000000).create();
+        assertNull(Units.exactScale(u));
+        assertEquals(ExactScale.ONE.of(1000000),Units.exactScale(Units.newUnit().as(KILOMETER,2).create()));
+    }
+    
+    @Test
+    public void repeatedConversionIsServedFromCache() {
+        Measure<DoubleField> m = Expressions.take(DoubleField.ZERO.of(2),KILOMETER);
+        m.as(Units.MILLIMETER);
+        long hits = Conversions.hitCount();
+        Measure<DoubleField> mm = m.as(Units.MILLIMETER);
+        assertTrue(Conversions.hitCount() > hits);
+        assertEquals(2000000,mm.getField().value());
+        assertSame(Units.MILLIMETER,mm.getUnit());
+    }
+    
+    @Test
+    public void conversionToSameUnitReturnsSameMeasure() {
+        Measure<DoubleField> m = Expressions.take(DoubleField.ZERO.of(2),KILOMETER);
+        assertSame(m,m.as(KILOMETER));
+    }
+    
+    @Test
+    public void incommensurableConversionThrows() {
+        assertThrows(IncommensurableDimensionException.class,
+                () -> Conversions.factor(Units.METER,Units.SECOND,DoubleField.factory()));
+    }
+    
+    @Test
+    public void matrixHoldsFactorsOfEveryPair() {
+        ConversionMatrix<DoubleField> m = Conversions.matrix(DoubleField.factory(),Units.METER,KILOMETER,Units.MILLIMETER);
+        assertEquals(3,m.size());
+        assertEquals(1,m.indexOf(KILOMETER));
+        assertEquals(-1,m.indexOf(Units.FOOT));
+        assertEquals(1000000,m.factor(1,2).value());
+        assertEquals(Conversions.factor(Units.MILLIMETER,Units.METER,DoubleField.factory()),m.factor(2,0));
+        assertEquals(1,m.factor(0,0).value());
+        assertEquals(2000,m.convert(DoubleField.ZERO.of(2),1,0).value());
+        assertThrows(IndexOutOfBoundsException.class,() -> m.factor(0,3));
+        assertThrows(IncommensurableDimensionException.class,
+                () -> Conversions.matrix(DoubleField.factory(),Units.METER,Units.SECOND));
+    }
+}
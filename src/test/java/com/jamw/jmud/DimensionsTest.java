@@ -0,0 +1,153 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class DimensionsTest {
+    
+    @Test
+    public void equalCompositionsAreCommensurable() {
+        Dimension a = Dimensions.newDimension().append(Dimensions.MASS).append(Dimensions.ACCELERATION).create();
+        Dimension b = Dimensions.newDimension().append(Dimensions.LENGTH).append(Dimensions.MASS).append(Dimensions.TIME,-2).create();
+        assertTrue(a.isCommensurable(Dimensions.FORCE));
+        assertTrue(a.isCommensurable(b));
+        assertEquals(a.getComposition(),b.getComposition());
+        assertEquals(a.getComposition().hashCode(),b.getComposition().hashCode());
+        assertFalse(a.isCommensurable(Dimensions.ACCELERATION));
+    }
+    
+    @Test
+    public void fractionalExponentsArePacked() {
+        Dimension a = Dimensions.newDimension().append(Dimensions.LENGTH,1,3).append(Dimensions.TIME,-5,2).create();
+        Dimension b = Dimensions.newDimension().append(Dimensions.LENGTH,2,6).append(Dimensions.TIME,-5,2).create();
+        Dimension c = Dimensions.newDimension().append(Dimensions.LENGTH,1,2).append(Dimensions.TIME,-5,2).create();
+        assertTrue(a.isCommensurable(b));
+        assertFalse(a.isCommensurable(c));
+    }
+    
+    @Test
+    public void exoticCompositionsAreComparedByComponent() {
+        Dimension a = Dimensions.newDimension().append(Dimensions.LENGTH,1,7).create();
+        Dimension b = Dimensions.newDimension().append(Dimensions.LENGTH,2,14).create();
+        Dimension c = Dimensions.newDimension().append(Dimensions.LENGTH,30).create();
+        Dimension d = Dimensions.newDimension().append(Dimensions.LENGTH,15).append(Dimensions.LENGTH,15).create();
+        assertTrue(a.isCommensurable(b));
+        assertEquals(a.getComposition().hashCode(),b.getComposition().hashCode());
+        assertTrue(c.isCommensurable(d));
+        assertFalse(a.isCommensurable(Dimensions.LENGTH));
+        assertFalse(c.isCommensurable(Dimensions.VOLUME));
+    }
+    
+    @Test
+    public void compositionsOfManyFundamentalDimensionsAreComparedByComponent() {
+        FundamentalDimension last = null;
+        for (int i = 0; i < 20; i++) //magic number
+            last = Universe.newFundamentalPair("D" + i,"D" + i,"U" + i,"U" + i).getFundamentalDimension();
+        Dimension a = Dimensions.newDimension().append(last).append(Dimensions.LENGTH).create();
+        Dimension b = Dimensions.newDimension().append(Dimensions.LENGTH).append(last).create();
+        assertTrue(a.isCommensurable(b));
+        assertEquals(a.getComposition().hashCode(),b.getComposition().hashCode());
+        assertNotEquals(a.getComposition(),Dimensions.LENGTH.getComposition());
+        assertFalse(last.isCommensurable(Dimensions.LENGTH));
+    }
+    
+    @Test
+    public void compositionsAreCanonical() {
+        Dimension a = Dimensions.newDimension().append(Dimensions.MASS).append(Dimensions.ACCELERATION).create();
+        Dimension b = Dimensions.newDimension().append(Dimensions.ENERGY).append(Dimensions.LENGTH,-1).create();
+        assertSame(Dimensions.FORCE.getComposition(),a.getComposition());
+        assertSame(a.getComposition(),b.getComposition());
+        assertSame(Dimensions.LENGTH.getComposition(),
+                   Dimensions.newDimension().append(Dimensions.AREA).append(Dimensions.LENGTH,-1).create().getComposition());
+    }
+    
+    @Test
+    public void unnamedDimensionsAreReused() {
+        Dimension a = Dimensions.newDimension().append(Dimensions.MASS).append(Dimensions.ACCELERATION).create();
+        Dimension b = Dimensions.newDimension().append(Dimensions.ENERGY).append(Dimensions.LENGTH,-1).create();
+        Dimension c = Dimensions.newDimension().append(Dimensions.ENERGY).append(Dimensions.LENGTH,-1).withName("PUSH").create();
+        assertSame(a,b);
+        assertNotSame(a,c);
+        assertNotSame(Dimensions.FORCE,a);
+        assertTrue(c.isCommensurable(a));
+    }
+    
+    @Test
+    public void dimensionAlgebraIsCached() {
+        Dimension p = Dimensions.product(Dimensions.MASS,Dimensions.ACCELERATION);
+        Dimension q = Dimensions.quotient(Dimensions.ENERGY,Dimensions.LENGTH);
+        Dimension r = Dimensions.power(Dimensions.LENGTH,Exponents.CUBED);
+        assertSame(p,Dimensions.product(Dimensions.MASS,Dimensions.ACCELERATION));
+        assertSame(p,q);
+        assertSame(r,Dimensions.power(Dimensions.LENGTH,Exponents.of(6,2)));
+        assertTrue(p.isCommensurable(Dimensions.FORCE));
+        assertTrue(r.isCommensurable(Dimensions.VOLUME));
+        assertSame(Dimensions.LENGTH.getComposition(),
+                   Dimensions.power(Dimensions.AREA,Exponents.SQUARE_ROOT).getComposition());
+    }
+    
+    @Test
+    public void compositionIsTraversedInOrderOfFundamentalDimensions() {
+        Dimension d = Dimensions.newDimension()
+                .append(Dimensions.TIME,-2)
+                .append(Dimensions.LENGTH)
+                .append(Dimensions.MASS)
+                .create();
+        Iterator<CompositionComponent> a = d.getComposition().iterator();
+        Iterator<CompositionComponent> b = d.getComposition().iterator();
+        assertSame(Dimensions.MASS,a.next().fundamentalDimension());
+        assertSame(Dimensions.LENGTH,a.next().fundamentalDimension());
+        CompositionComponent t = a.next();
+        assertSame(Dimensions.TIME,t.fundamentalDimension());
+        assertEquals(Exponents.of(-2),t.exponent());
+        assertFalse(a.hasNext());
+        assertThrows(NoSuchElementException.class,() -> a.next());
+        b.next();
+        b.next();
+        assertSame(t,b.next());
+        assertEquals("M L T^-2",d.getComposition().toString());
+    }
+    
+    @Test
+    public void preferredDimensionIsFoundByComposition() {
+        Dimension d = Dimensions.product(Dimensions.FORCE,Dimensions.LENGTH);
+        assertSame(Dimensions.ENERGY,Dimensions.preferredDimension(d.getComposition()));
+        assertSame(Dimensions.FREQUENCY,Dimensions.preferredDimension(Dimensions.RADIOACTIVITY.getComposition()));
+        assertSame(Dimensions.LENGTH,Dimensions.preferredDimension(Dimensions.LENGTH.getComposition()));
+        Dimension odd = Dimensions.newDimension().append(Dimensions.LENGTH,7).create();
+        assertNull(Dimensions.preferredDimension(odd.getComposition()));
+        Dimension named = Dimensions.newDimension().append(Dimensions.LENGTH,7).withName("HEPTAVOLUME").create();
+        Dimensions.setPreferredDimension(named);
+        assertSame(named,Dimensions.preferredDimension(odd.getComposition()));
+    }
+}
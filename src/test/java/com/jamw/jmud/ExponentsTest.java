@@ -0,0 +1,62 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class ExponentsTest {
+    
+    @Test
+    public void commonExponentsAreFlyweights() {
+        assertSame(Exponents.ZERO,Exponents.of(0,5));
+        assertSame(Exponents.ONE,Exponents.of(3,3));
+        assertSame(Exponents.SQUARE_ROOT,Exponents.of(-2,-4));
+        assertSame(Exponents.of(-5,6),Exponents.of(10,-12));
+        assertNotSame(Exponents.of(13),Exponents.of(13));
+        assertEquals(Exponents.of(13),Exponents.of(26,2));
+    }
+    
+    @Test
+    public void arithmeticIsInLowestTerms() {
+        Exponent e = Exponents.product(Exponents.of(1,6),Exponents.of(1,3));
+        assertSame(Exponents.SQUARE_ROOT,e);
+        assertSame(Exponents.ZERO,Exponents.product(Exponents.of(2,3),Exponents.of(-2,3)));
+        assertSame(Exponents.ONE,Exponents.power(Exponents.of(3,2),Exponents.of(2,3)));
+        assertSame(Exponents.INVERSE,Exponents.negate(Exponents.ONE));
+        Exponent big = Exponents.product(Exponents.of(100,7),Exponents.of(1,11));
+        assertEquals(1107,big.numerator());
+        assertEquals(77,big.denominator());
+    }
+    
+    @Test
+    public void overflowThrows() {
+        Exponent max = Exponents.of(Integer.MAX_VALUE);
+        assertThrows(ArithmeticException.class,() -> Exponents.product(max,Exponents.ONE));
+        assertThrows(ArithmeticException.class,() -> Exponents.power(max,Exponents.SQUARED));
+        assertThrows(ArithmeticException.class,() -> Exponents.negate(Exponents.of(Integer.MIN_VALUE)));
+        assertThrows(IllegalArgumentException.class,() -> Exponents.of(1,0));
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import com.jamw.jmud.fields.DoubleField;
+import com.jamw.jmud.fields.DoubleMeasure;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class ExpressionsTest {
+    
+    private static Expression formula() {
+        Expression width = Expressions.take("1.2",Units.METER);
+        Expression height = Expressions.take("1.8",Units.METER);
+        Expression thickness = Expressions.take("6.2",Units.MILLIMETER);
+        Expression k = Expressions.take("0.27",Units.newUnit().as(Units.WATT).divide(Units.METER).divide(Units.KELVIN).create());
+        Expression deltaT = Expressions.take(21,Units.KELVIN).subtract(-4,Units.KELVIN);
+        return k.multiply(width.multiply(height))
+                .multiply(deltaT)
+                .divide(thickness)
+                .add(Expressions.take(3,Units.KILOWATT))
+                .subtract("0.5",Units.WATT)
+                .multiply(2)
+                .divide(Expressions.take(4))
+                .power(Exponents.SQUARED)
+                .power(Exponents.of(1,2));
+    }
+    
+    @Test
+    public void compiledExpressionEvaluatesAsTree() {
+        Measure<DoubleField> tree = formula().using(DoubleField.factory());
+        Measure<DoubleField> compiled = formula().compile().using(DoubleField.factory());
+        assertEquals(tree,compiled);
+        assertSame(tree.getUnit(),compiled.getUnit());
+    }
+    
+    @Test
+    public void compiledExpressionCanBeExtended() {
+        Expression compiled = formula().compile();
+        assertSame(compiled,compiled.compile());
+        Expression e = compiled.multiply(3,Units.SECOND);
+        assertEquals(formula().multiply(3,Units.SECOND).using(DoubleField.factory()),
+                     e.using(DoubleField.factory()));
+        assertThrows(IncommensurableDimensionException.class,() -> compiled.add(1,Units.METER));
+    }
+    
+    @Test
+    public void equivalentSubexpressionsAreEvaluatedOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Field.Factory,Measure> f = (factory) -> {
+            calls.incrementAndGet();
+            return Expressions.take(factory.of(5),Units.METER);
+        };
+        Expression a = Expressions.take(f,Dimensions.LENGTH).multiply(2);
+        Expression b = Expressions.take(f,Dimensions.LENGTH).multiply(2);
+        Expression compiled = a.add(b).compile();
+        Measure<DoubleField> m = compiled.using(DoubleField.factory());
+        assertEquals(20,m.getField().value());
+        assertEquals(1,calls.get());
+    }
+    
+    @Test
+    public void foreignMeasuresAreEvaluatedByTheirOwnOperations() {
+        Function<Field.Factory,Measure> f = (factory) -> DoubleMeasure.of(250,Units.CENTIMETER);
+        Expression e = Expressions.take(f,Dimensions.LENGTH)
+                .add(1,Units.METER)
+                .multiply(Expressions.take(2,Units.SECOND))
+                .divide("4");
+        assertEquals(e.using(DoubleField.factory()),e.compile().using(DoubleField.factory()));
+    }
+    
+    @Test
+    public void leavesAreMemoizedPerFactory() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Field.Factory,Measure> f = (factory) -> {
+            calls.incrementAndGet();
+            return Expressions.take(factory.of(5),Units.METER);
+        };
+        Expression e = Expressions.take(f,Dimensions.LENGTH);
+        List<Field.Factory<DoubleField>> factories = new ArrayList<>();
+        for (int i = 0; i < 6; i++)
+            factories.add(factory());
+        for (Field.Factory<DoubleField> factory : factories)
+            assertEquals(5,e.using(factory).getField().value());
+        int evaluated = calls.get();
+        assertEquals(factories.size(),evaluated);
+        assertSame(e.using(factories.get(0)),e.using(factories.get(0)));
+        assertSame(e.using(factories.get(1)),e.using(factories.get(1)));
+        assertEquals(evaluated,calls.get());
+    }
+    
+    @Test
+    public void intermediatesAreNotMemoizedWhenDisabled() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Field.Factory,Measure> f = (factory) -> {
+            calls.incrementAndGet();
+            return Expressions.take(factory.of(5),Units.METER);
+        };
+        Expression leaf = Expressions.take(f,Dimensions.LENGTH);
+        Expression e = leaf.multiply(2);
+        Expressions.setMemoizingIntermediates(false);
+        try {
+            assertFalse(Expressions.isMemoizingIntermediates());
+            Measure<DoubleField> a = e.using(DoubleField.factory());
+            Measure<DoubleField> b = e.using(DoubleField.factory());
+            assertNotSame(a,b);
+            assertEquals(a,b);
+            assertEquals(1,calls.get());
+        } finally {
+            Expressions.setMemoizingIntermediates(true);
+        }
+        assertSame(e.using(DoubleField.factory()),e.using(DoubleField.factory()));
+    }
+    
+    @Test
+    public void deepChainsAreEvaluatedWithoutRecursion() {
+        int n = 100000; //magic number
+        Expression total = Expressions.take(0,Units.METER);
+        for (int i = 0; i < n; i++)
+            total = total.add(1,Units.METER);
+        Expression reversed = Expressions.take(0,Units.METER);
+        for (int i = 0; i < n; i++)
+            reversed = Expressions.take(1,Units.METER).add(reversed);
+        assertEquals(n,total.using(DoubleField.factory()).getField().value());
+        assertEquals(n,reversed.using(DoubleField.factory()).getField().value());
+        assertEquals(n,total.compile().using(DoubleField.factory()).getField().value());
+    }
+    
+    @Test
+    public void sharedOperandsAreEvaluatedOncePerEvaluation() {
+        AtomicInteger calls = new AtomicInteger();
+        Function<Field.Factory,Measure> f = (factory) -> {
+            calls.incrementAndGet();
+            return Expressions.take(factory.of(5),Units.METER);
+        };
+        Expression shared = Expressions.take(f,Dimensions.LENGTH).multiply(2);
+        Expression e = shared.add(shared).subtract(shared);
+        Expressions.setMemoizingIntermediates(false);
+        try {
+            assertEquals(10,e.using(DoubleField.factory()).getField().value());
+            assertEquals(10,e.using(DoubleField.factory()).getField().value());
+            assertEquals(1,calls.get());
+        } finally {
+            Expressions.setMemoizingIntermediates(true);
+        }
+    }
+    
+    @Test
+    public void literalScalarsAreFoldedExactly() {
+        Scalar s = Expressions.take(2).multiply(3).divide("0.5");
+        assertEquals("12",s.toString());
+        assertEquals("1/3",Expressions.take(1).divide(3).toString());
+        assertEquals(ExactScale.PI,ExactScale.of(Constants.pi));
+        assertEquals(ExactScale.ONE.of(Units.PI),ExactScale.of(Expressions.take(Units.PI)));
+        assertEquals("6.283185307179586476925286766558",Expressions.take(Units.PI).multiply(2).toString());
+        assertEquals(12,s.using(DoubleField.factory()).value());
+        assertEquals(0.3,Expressions.take("0.1").multiply(3).using(DoubleField.factory()).value());
+        assertEquals(1.0 / 3,Expressions.take(1).divide(3).using(DoubleField.factory()).value());
+        assertEquals(Rational.factory().of("0.001"),Expressions.take(10).power(-3).using(Rational.factory()));
+        assertEquals("1/90*pi",ExactScale.of(Constants.pi.divide(180).multiply(2)).toString());
+    }
+    
+    @Test
+    public void foldedScalarsRenderTheirValue() {
+        assertEquals("0.25",Expressions.take(1).divide(4).toString());
+        assertEquals("-2/3",Expressions.take(2).divide(3).negate().toString());
+        assertEquals("(" + Units.PI + ")/(180)",Constants.pi.divide(180).toString());
+        Unit u = Units.newUnit().asTheRatio(1).over(3).ofA(Units.METER).create();
+        assertEquals("{(1/3) METER}",u.getName());
+        assertEquals("{(1/3) m}",u.getSymbol());
+        u = Units.newUnit().asTheRatio(Expressions.PI).over(180).ofA(Units.RADIAN).create();
+        assertEquals("{((" + Units.PI + ")/(180)) RADIAN}",u.getName());
+    }
+    
+    @Test
+    public void compiledExpressionEvaluatesFoldedScalars() {
+        Expression a = Expressions.take(1,Units.METER).multiply(Expressions.take(2).divide(4));
+        Expression b = Expressions.take(Expressions.take(3).multiply(2),Units.METER);
+        Expression c = Constants.h_bar.multiply(Expressions.take(1).divide(3));
+        assertEquals(0.5,a.compile().using(DoubleField.factory()).getField().value());
+        assertEquals(a.using(DoubleField.factory()),a.compile().using(DoubleField.factory()));
+        assertEquals(6,b.compile().using(DoubleField.factory()).getField().value());
+        assertEquals(c.using(DoubleField.factory()),c.compile().using(DoubleField.factory()));
+    }
+    
+    @Test
+    public void scalarTextIsRenderedOnDemand() {
+        Scalar s = Constants.pi.multiply(2).negate().power(Exponents.of(1,2)).logarithm(10).reciprocal();
+        assertEquals("(1/(log_10((-((" + Units.PI + ")*(2)))^(1/2))))",s.toString());
+        assertSame(s.toString(),s.toString());
+        int n = 100000; //magic number
+        Scalar chain = Constants.pi;
+        for (int i = 0; i < n; i++)
+            chain = chain.add(1);
+        assertEquals(Units.PI.length() + 4 * n,chain.toString().length());
+        assertEquals(Units.PI + " + 1 + 1",chain.toString().substring(0,Units.PI.length() + 8));
+    }
+    
+    private static Field.Factory<DoubleField> factory() {
+        return new Field.Factory<>() {
+            @Override
+            public DoubleField zero() {
+                return DoubleField.ZERO;
+            }
+            
+            @Override
+            public DoubleField one() {
+                return DoubleField.ONE;
+            }
+            
+            @Override
+            public DoubleField of(int value) {
+                return DoubleField.ONE.of(value);
+            }
+            
+            @Override
+            public DoubleField of(String value) {
+                return DoubleField.ONE.of(value);
+            }
+        };
+    }
+}
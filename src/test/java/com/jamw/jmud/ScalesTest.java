@@ -0,0 +1,114 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import com.jamw.jmud.fields.DoubleField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class ScalesTest {
+    
+    @Test
+    public void temperatureScalesAreAffine() {
+        assertTrue(Scales.CELSIUS instanceof AffineScale);
+        Level<DoubleField> c = Scales.CELSIUS.level(Expressions.take(DoubleField.of(300.0),Units.KELVIN));
+        assertEquals(26.85,c.getField().value(),1e-12);
+        assertEquals(300,Scales.CELSIUS.of(DoubleField.of(26.85)).getMeasure().getField().value(),1e-12);
+    }
+    
+    @Test
+    public void affineLevelsConvertDirectly() {
+        Level<DoubleField> f = Scales.FAHRENHEIT.of(DoubleField.of(212.0));
+        Level<DoubleField> c = Scales.convert(f,Scales.CELSIUS);
+        assertSame(Scales.CELSIUS,c.getScale());
+        assertEquals(100,c.getField().value(),1e-12);
+        assertEquals(Scales.CELSIUS.level(f.getMeasure()).getField().value(),c.getField().value(),1e-12);
+        assertEquals(373.15,c.getMeasure().as(Units.KELVIN).getField().value(),1e-12);
+        assertEquals(-40,Scales.convert(Scales.CELSIUS.of(DoubleField.of(-40.0)),Scales.FAHRENHEIT).getField().value(),1e-12);
+        assertSame(f,Scales.convert(f,Scales.FAHRENHEIT));
+    }
+    
+    @Test
+    public void levelsConvertToAffineScalesOfOtherImplementations() {
+        AffineScale reaumur = new AffineScale() {
+            @Override
+            public Scalar getSlope() {
+                return Expressions.take("0.8");
+            }
+            
+            @Override
+            public Scalar getOffset() {
+                return Expressions.take("-218.52");
+            }
+            
+            @Override
+            public String getName() {
+                return "REAUMUR";
+            }
+            
+            @Override
+            public String getSymbol() {
+                return "Re";
+            }
+            
+            @Override
+            public Unit getReferenceUnit() {
+                return Units.KELVIN;
+            }
+            
+            @Override
+            public <T extends Field<T>> Level<T> of(T value) {
+                return Scales.convert(Scales.CELSIUS.of(value.multiply(value.getFactory().of("1.25"))),this);
+            }
+            
+            @Override
+            public <T extends Field<T>> Level<T> level(Measure<T> measure) {
+                return Scales.convert(Scales.CELSIUS.level(measure),this);
+            }
+        };
+        Level<DoubleField> r = Scales.convert(Scales.CELSIUS.of(DoubleField.of(100.0)),reaumur);
+        assertSame(reaumur,r.getScale());
+        assertEquals(80,r.getField().value(),1e-12);
+        assertEquals(373.15,r.getMeasure().as(Units.KELVIN).getField().value(),1e-12);
+        assertEquals(100,Scales.convert(r,Scales.CELSIUS).getField().value(),1e-12);
+    }
+    
+    @Test
+    public void affineScaleOfCustomSlope() {
+        AffineScale reaumur = Scales.affine("REAUMUR","Re",Units.KELVIN,Expressions.take("0.8"),Expressions.take("-218.52"));
+        Level<DoubleField> r = Scales.convert(Scales.CELSIUS.of(DoubleField.of(100.0)),reaumur);
+        assertEquals(80,r.getField().value(),1e-12);
+        assertEquals(0.8,Scales.conversionSlope(Scales.affine("C","C",Units.KELVIN,Expressions.ONE,Expressions.ZERO),reaumur,DoubleField.factory()).value(),1e-15);
+        Scale bel = Scales.bel(Units.WATT);
+        Level<DoubleField> b = Scales.convert(Scales.decibel(Units.WATT).of(DoubleField.of(20.0)),bel);
+        assertEquals(2,b.getField().value(),1e-12);
+        assertThrows(IncommensurableDimensionException.class,
+                () -> Scales.convert(Scales.CELSIUS.of(DoubleField.of(1.0)),Scales.affine("X","X",Units.METER,Expressions.ONE,Expressions.ZERO)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scales.affine("Z","Z",Units.KELVIN,Expressions.ZERO,Expressions.ONE));
+        assertThrows(IllegalArgumentException.class,
+                () -> Scales.affine("Z","Z",Units.KELVIN,Expressions.take("0.5").subtract("0.5"),Expressions.ONE));
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates the source of {@link UnitCatalog} from the definitions of the
+ * built-in units.
+ *
+ * <p>The generator disables the catalog before the built-in units are
+ * initialized, so that every scale is evaluated from its definition, and
+ * records the exact value of each scale with the composition of its
+ * dimension.  Run it after changing a built-in unit:
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.jamw.jmud.UnitCatalogGenerator src/main/java/com/jamw/jmud/UnitCatalog.java
+ * </pre>
+ *
+ * @author andreww1011
+ */
+public class UnitCatalogGenerator {
+    
+    private static final String HEADER = String.join("\n",
+            "/*",
+            " * jmud - (J)ava (M)easures, (U)nits, and (D)imensions",
+            " * Copyright (C) 2022 andreww1011",
+            " *",
+            " * This program is free software: you can redistribute it and/or modify",
+            " * it under the terms of the GNU General Public License as published by",
+            " * the Free Software Foundation, either version 3 of the License, or",
+            " * (at your option) any later version.",
+            " *",
+            " * This program is distributed in the hope that it will be useful,",
+            " * but WITHOUT ANY WARRANTY; without even the implied warranty of",
+            " * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the",
+            " * GNU General Public License for more details.",
+            " *",
+            " * You should have received a copy of the GNU General Public License",
+            " * along with this program.  If not, see <http://www.gnu.org/licenses/>.",
+            " */");
+    
+    public static void main(String[] args) throws IOException {
+        String source = generate();
+        if (args.length == 0)
+            System.out.print(source);
+        else
+            Files.write(Paths.get(args[0]),source.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Returns the catalog entries of the built-in units, evaluated from their
+     * definitions, in order of declaration.  Must be called before the
+     * built-in units are initialized.
+     *
+     * @return an array of {name, composition, scale} entries
+     */
+    public static String[][] entries() {
+        System.setProperty(UnitCatalog.PROPERTY,"false");
+        try {
+            List<String[]> entries = new ArrayList<>();
+            Set<String> names = new HashSet<>();
+            for (java.lang.reflect.Field field : Units.class.getDeclaredFields()) {
+                int m = field.getModifiers();
+                if (!Modifier.isPublic(m) || !Modifier.isStatic(m) || field.getType() != Unit.class)
+                    continue;
+                Unit u = (Unit)field.get(null);
+                if (!names.add(u.getName()))
+                    throw new IllegalStateException("Duplicate unit name " + u.getName());
+                ExactScale scale = Units.exactScale(u);
+                if (scale == null)
+                    throw new IllegalStateException("Inexact scale of " + u.getName());
+                entries.add(new String[] {u.getName(),u.getDimension().getComposition().toString(),scale.toString()});
+            }
+            return entries.toArray(new String[0][]);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            System.clearProperty(UnitCatalog.PROPERTY);
+        }
+    }
+    
+    static String generate() {
+        StringWriter sw = new StringWriter();
+        PrintWriter out = new PrintWriter(sw);
+        out.println(HEADER);
+        out.println("package com.jamw.jmud;");
+        out.println();
+        out.println("import java.util.HashMap;");
+        out.println("import java.util.Map;");
+        out.println();
+        out.println("/**");
+        out.println(" * Precomputed exact scales of the built-in units.");
+        out.println(" *");
+        out.println(" * <p>Each entry holds the name of a built-in unit, the composition of its");
+        out.println(" * dimension, and its exact scale relative to the fundamental units, either as");
+        out.println(" * a decimal literal or as a quotient of integer literals, times a power of");
+        out.println(" * <i>&pi;</i> for angular units.  While the built-in units are initialized");
+        out.println(" * their scales are taken from this table instead of being composed from the");
+        out.println(" * scales of the units they are defined by.");
+        out.println(" *");
+        out.println(" * <p>Generated by {@code UnitCatalogGenerator}; do not edit.");
+        out.println(" *");
+        out.println(" * @author andreww1011");
+        out.println(" */");
+        out.println("abstract class UnitCatalog {");
+        out.println("    ");
+        out.println("    /**");
+        out.println("     * The system property which disables the catalog when set to {@code false}.");
+        out.println("     */");
+        out.println("    static final String PROPERTY = \"com.jamw.jmud.unitCatalog\";");
+        out.println("    ");
+        out.println("    private static final String[][] ENTRIES = {");
+        for (String[] e : entries())
+            out.println("        {" + literal(e[0]) + ", " + literal(e[1]) + ", " + literal(e[2]) + "},");
+        out.println("    };");
+        out.println("    ");
+        out.println("    private static final Map<String,String> SCALES = new HashMap<>(ENTRIES.length * 2); //magic number");
+        out.println("    ");
+        out.println("    static {");
+        out.println("        if (!\"false\".equalsIgnoreCase(System.getProperty(PROPERTY)))");
+        out.println("            for (String[] e : ENTRIES)");
+        out.println("                SCALES.put(e[0],e[2]);");
+        out.println("    }");
+        out.println("    ");
+        out.println("    private UnitCatalog() {}");
+        out.println("    ");
+        out.println("    /**");
+        out.println("     * Returns the exact scale of the built-in unit of the specified name, or");
+        out.println("     * null if the unit is not in the catalog.");
+        out.println("     *");
+        out.println("     * @param name the name of a built-in unit.");
+        out.println("     * @return a {@link com.jamw.jmud.ExactScale} object");
+        out.println("     */");
+        out.println("    static ExactScale scale(String name) {");
+        out.println("        String s = name == null ? null : SCALES.get(name);");
+        out.println("        if (s == null)");
+        out.println("            return null;");
+        out.println("        return ExactScale.parse(s);");
+        out.println("    }");
+        out.println("    ");
+        out.println("    /**");
+        out.println("     * Returns a copy of the entries of the catalog, each an array of the unit");
+        out.println("     * name, the composition of its dimension, and its exact scale.");
+        out.println("     *");
+        out.println("     * @return an array of {name, composition, scale} entries");
+        out.println("     */");
+        out.println("    static String[][] entries() {");
+        out.println("        String[][] copy = new String[ENTRIES.length][];");
+        out.println("        for (int i = 0; i < ENTRIES.length; i++)");
+        out.println("            copy[i] = ENTRIES[i].clone();");
+        out.println("        return copy;");
+        out.println("    }");
+        out.println("}");
+        out.flush();
+        return sw.toString().replace(System.lineSeparator(),"\n");
+    }
+    
+    private static String literal(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : s.toCharArray()) {
+            if (c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if (c < 0x20 || c > 0x7e) //magic number
+                sb.append(String.format("\\u%04X",(int)c));
+            else
+                sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+}
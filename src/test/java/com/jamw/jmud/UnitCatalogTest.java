@@ -0,0 +1,73 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class UnitCatalogTest {
+    
+    private static Map<String,Unit> builtInUnits() throws IllegalAccessException {
+        Map<String,Unit> units = new HashMap<>();
+        for (java.lang.reflect.Field field : Units.class.getDeclaredFields())
+            if (Modifier.isPublic(field.getModifiers()) && field.getType() == Unit.class) {
+                Unit u = (Unit)field.get(null);
+                units.put(u.getName(),u);
+            }
+        return units;
+    }
+    
+    @Test
+    public void builtInUnitsTakeTheirScalesFromTheCatalog() throws IllegalAccessException {
+        Map<String,Unit> units = builtInUnits();
+        String[][] entries = UnitCatalog.entries();
+        assertEquals(units.size(),entries.length);
+        for (String[] e : entries) {
+            Unit u = units.get(e[0]);
+            assertNotNull(u,e[0]);
+            assertEquals(e[1],u.getDimension().getComposition().toString(),e[0]);
+            assertEquals(UnitCatalog.scale(e[0]),Units.exactScale(u),e[0]);
+            assertEquals(UnitCatalog.scale(e[0]),ExactScale.of(u.getScale()),e[0]);
+        }
+        assertEquals("0.0254",Units.INCH.getScale().toString());
+    }
+    
+    @Test
+    public void catalogMatchesTheDefinitionsOfTheBuiltInUnits() throws Exception {
+        URL[] urls = {
+            Units.class.getProtectionDomain().getCodeSource().getLocation(),
+            UnitCatalogGenerator.class.getProtectionDomain().getCodeSource().getLocation()
+        };
+        try (URLClassLoader loader = new URLClassLoader(urls,ClassLoader.getPlatformClassLoader())) {
+            Class<?> generator = loader.loadClass(UnitCatalogGenerator.class.getName());
+            String[][] generated = (String[][])generator.getMethod("entries").invoke(null);
+            assertArrayEquals(generated,UnitCatalog.entries());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import com.jamw.jmud.fields.DoubleField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class UnitRegistryTest {
+    
+    /*
+     * Registrations are permanent and shared by every test in the run, so 
+     * each test registers only identifiers of its own.
+     */
+    
+    @Test
+    public void builtInUnitsAreRegistered() {
+        assertSame(Units.METER,UnitRegistry.forSymbol("m"));
+        assertSame(Units.KILONEWTON,UnitRegistry.forSymbol("kN"));
+        assertSame(Units.POUND_PER_SQUARE_INCH,UnitRegistry.forSymbol("psi"));
+        assertSame(Units.POUND,UnitRegistry.forSymbol("lbf"));
+        assertSame(Units.HOUR,UnitRegistry.forSymbol("h"));
+        assertSame(Units.NEWTON_METER,UnitRegistry.forName("newton_meter"));
+        assertSame(Units.KIP,UnitRegistry.lookup("kip"));
+        assertNull(UnitRegistry.forSymbol("MINUTE"));
+        assertNull(UnitRegistry.lookup("registry_test_league"));
+    }
+    
+    @Test
+    public void registeredUnitsAreParsed() {
+        FundamentalUnit bit = Universe.newFundamentalPair("REGISTRY_TEST_INFORMATION","RTI","REGISTRY_TEST_BIT","rtbit").getFundamentalUnit();
+        assertThrows(IllegalArgumentException.class,() -> Units.parse("krtbit/s"));
+        UnitRegistry.register(bit);
+        UnitRegistry.register(bit);
+        assertSame(bit,UnitRegistry.forSymbol("rtbit"));
+        assertSame(Units.newUnit().as(Units.kilo(bit)).divide(Units.SECOND).create(),Units.parse("krtbit/s"));
+        Unit rtFurlong = Units.newUnit().ofDimension(Dimensions.LENGTH).asExactly(220).ofA(Units.YARD)
+                .withName("REGISTRY_TEST_FURLONG").withSymbol("rtfur").create();
+        UnitRegistry.register(rtFurlong);
+        UnitRegistry.registerAlias("rtfurlongs",rtFurlong);
+        Measure<DoubleField> m = Expressions.take(DoubleField.ONE.of(1),Units.parse("rtfurlongs"));
+        assertEquals(201.168,m.as(Units.METER).getField().value(),1e-9);
+    }
+    
+    @Test
+    public void generatedSymbolsAreNotRegistered() {
+        assertNull(UnitRegistry.forSymbol(Units.METER_PER_SECOND.getSymbol()));
+        assertSame(Units.METER_PER_SECOND,UnitRegistry.forName("METER_PER_SECOND"));
+        Unit speed = Units.newUnit().as(Units.METER).divide(Units.SECOND).withName("REGISTRY_TEST_SPEED").create();
+        UnitRegistry.register(speed);
+        assertSame(speed,UnitRegistry.forName("registry_test_speed"));
+        assertNull(UnitRegistry.forSymbol(speed.getSymbol()));
+    }
+    
+    @Test
+    public void collisionsAreRejected() {
+        Unit rod = Units.newUnit().ofDimension(Dimensions.LENGTH).asTheRatio(33).over(2).ofA(Units.FOOT)
+                .withName("REGISTRY_TEST_ROD").withSymbol("m").create();
+        assertThrows(IllegalArgumentException.class,() -> UnitRegistry.register(rod));
+        assertNull(UnitRegistry.forName("REGISTRY_TEST_ROD"));
+        Unit perch = Units.newUnit().ofDimension(Dimensions.LENGTH).asTheRatio(33).over(2).ofA(Units.FOOT)
+                .withName("METER").withSymbol("rtperch").create();
+        assertThrows(IllegalArgumentException.class,() -> UnitRegistry.register(perch));
+        assertNull(UnitRegistry.forSymbol("rtperch"));
+        assertThrows(IllegalArgumentException.class,() -> UnitRegistry.registerAlias("lbf",Units.KIP));
+        assertThrows(IllegalArgumentException.class,() -> UnitRegistry.registerAlias(" ",Units.KIP));
+        assertSame(Units.METER,UnitRegistry.forSymbol("m"));
+    }
+}
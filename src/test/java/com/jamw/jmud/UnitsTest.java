@@ -0,0 +1,148 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud;
+
+import com.jamw.jmud.fields.DoubleField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class UnitsTest {
+    
+    @Test
+    public void prefixedUnitIsCanonical() {
+        assertSame(Units.kilo(Units.METER),Units.kilo(Units.METER));
+        assertSame(Units.MILLIMETER,Units.milli(Units.METER));
+        assertNotSame(Units.kilo(Units.METER),Units.mega(Units.METER));
+    }
+    
+    @Test
+    public void anonymousCompoundUnitIsCanonical() {
+        Unit a = Units.newUnit().as(Units.METER).divide(Units.SECOND).create();
+        Unit b = Units.newUnit().as(Units.SECOND,-1).multiply(Units.METER).create();
+        assertSame(a,b);
+        assertNotSame(Units.METER_PER_SECOND,a);
+    }
+    
+    @Test
+    public void anonymousCompoundUnitIsFlattened() {
+        Unit velocity = Units.newUnit().as(Units.METER).divide(Units.SECOND).create();
+        Unit length = Units.newUnit().as(velocity).multiply(Units.SECOND).create();
+        assertSame(Units.METER,length);
+        Unit acceleration = Units.newUnit().as(velocity).divide(Units.SECOND).create();
+        assertSame(Units.newUnit().as(Units.METER).divide(Units.SECOND,2).create(),acceleration);
+        assertEquals("[m][s^-2]".length(),acceleration.getSymbol().length());
+        assertSame(Units.UNITLESS,Units.newUnit().as(velocity).divide(velocity).create());
+        Measure<DoubleField> v = Expressions.take(DoubleField.ONE.of(3),Units.kilo(Units.METER)).divide(Expressions.take(DoubleField.ONE.of(2),Units.HOUR));
+        Measure<DoubleField> l = v;
+        for (int i = 0; i < 10; i++)
+            l = l.multiply(Expressions.take(DoubleField.ONE.of(2),Units.HOUR)).divide(Expressions.take(DoubleField.ONE.of(2),Units.HOUR));
+        assertSame(v.getUnit(),l.getUnit());
+    }
+    
+    @Test
+    public void namedCompoundUnitIsNotCanonical() {
+        Unit a = Units.newUnit().as(Units.METER).divide(Units.SECOND).withSymbol("mps").create();
+        Unit b = Units.newUnit().as(Units.METER).divide(Units.SECOND).withSymbol("mps").create();
+        assertNotSame(a,b);
+    }
+    
+    @Test
+    public void measureProductsShareUnit() {
+        Measure<DoubleField> l = Expressions.take(DoubleField.ONE.of(3),Units.METER);
+        Measure<DoubleField> t = Expressions.take(DoubleField.ONE.of(2),Units.SECOND);
+        assertSame(l.divide(t).getUnit(),l.divide(t).getUnit());
+        assertSame(l.power(Exponents.SQUARED).getUnit(),l.multiply(l).getUnit());
+        assertEquals(1.5,l.divide(t).getField().value());
+    }
+    
+    @Test
+    public void unitOperationsAreInterned() {
+        Unit speed = Units.newUnit().as(Units.METER).divide(Units.SECOND).withSymbol("ms").create();
+        assertSame(Units.product(speed,Units.SECOND),Units.product(speed,Units.SECOND));
+        assertSame(Units.quotient(speed,Units.SECOND),Units.quotient(speed,Units.SECOND));
+        assertSame(Units.power(speed,Exponents.SQUARED),Units.power(speed,Exponents.SQUARED));
+        assertSame(speed,Units.product(speed,Units.UNITLESS));
+        assertSame(speed,Units.power(speed,Exponents.ONE));
+        assertSame(Units.METER,Units.product(Units.quotient(Units.METER,Units.SECOND),Units.SECOND));
+    }
+    
+    @Test
+    public void canonicalUnitChecksDeclaredDimension() {
+        Units.newUnit().as(Units.METER).divide(Units.SECOND).create();
+        assertThrows(IncommensurableDimensionException.class,
+                () -> Units.newUnit().ofDimension(Dimensions.FORCE).as(Units.METER).divide(Units.SECOND).create());
+    }
+    
+    @Test
+    public void preferredUnitIsFoundByComposition() {
+        Measure<DoubleField> f = Expressions.take(DoubleField.ONE.of(3),Units.NEWTON);
+        Measure<DoubleField> l = Expressions.take(DoubleField.ONE.of(2),Units.METER);
+        Composition c = f.multiply(l).getUnit().getDimension().getComposition();
+        assertSame(Units.JOULE,Units.preferredUnit(c));
+        assertEquals(6.0,f.multiply(l).as(Units.preferredUnit(c)).getField().value());
+        assertSame(Units.HERTZ,Units.preferredUnit(Dimensions.RADIOACTIVITY.getComposition()));
+        assertSame(Units.UNITLESS,Units.preferredUnit(Dimensions.ANGLE.getComposition()));
+        Unit u = Units.newUnit().as(Units.METER,7).withSymbol("m7").create();
+        Units.setPreferredUnit(u);
+        assertSame(u,Units.preferredUnit(u.getDimension().getComposition()));
+    }
+    
+    @Test
+    public void parsedUnitIsCanonical() {
+        assertSame(Units.KILONEWTON,Units.parse("kN"));
+        assertSame(Units.MILLIMETER,Units.parse("mm"));
+        assertSame(Units.MINUTE,Units.parse("min"));
+        assertSame(Units.KILONEWTON,Units.parse("kilonewton"));
+        assertSame(Units.micro(Units.SECOND),Units.parse("\u00B5s"));
+        Unit acceleration = Units.newUnit().as(Units.METER).divide(Units.SECOND,2).create();
+        assertSame(acceleration,Units.parse("m/s^2"));
+        assertSame(acceleration,Units.parse("m s\u207B\u00B2"));
+        assertSame(acceleration,Units.parse("(s^2/m)^-1"));
+        assertSame(Units.parse(new StringBuilder("kN\u00B7m")),Units.parse("kN*m"));
+        assertSame(Units.newUnit().as(Units.KILOGRAM).divide(Units.METER,3).create(),Units.parse("kg m^-3"));
+        assertSame(Units.newUnit().as(Units.METER,1,2).create(),Units.parse("m^(1/2)"));
+        assertSame(Units.newUnit().as(Units.SECOND,-1).create(),Units.parse("1/s"));
+        assertSame(Units.UNITLESS,Units.parse("m/m"));
+    }
+    
+    @Test
+    public void parsedUnitConverts() {
+        Measure<DoubleField> p = Expressions.take(DoubleField.ONE.of(1),Units.parse("lb/in^2"));
+        assertEquals(Units.POUND_PER_SQUARE_INCH.getScale().using(DoubleField.factory()).value(),
+                     p.as(Units.PASCAL).getField().value(),1e-9);
+    }
+    
+    @Test
+    public void malformedUnitExpressionIsRejected() {
+        assertThrows(IllegalArgumentException.class,() -> Units.parse("furlong"));
+        assertThrows(IllegalArgumentException.class,() -> Units.parse("m/"));
+        assertThrows(IllegalArgumentException.class,() -> Units.parse("(m/s"));
+        assertThrows(IllegalArgumentException.class,() -> Units.parse("m^"));
+        assertThrows(IllegalArgumentException.class,() -> Units.parse("m^(1/0)"));
+        assertThrows(IllegalArgumentException.class,() -> Units.parse(""));
+        assertThrows(IllegalArgumentException.class,() -> Units.parse("(".repeat(100000) + "m" + ")".repeat(100000)));
+        assertSame(Units.METER,Units.parse("(".repeat(64) + "m" + ")".repeat(64)));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.Level;
+import com.jamw.jmud.Scales;
+import com.jamw.jmud.Units;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class DoubleAffineConversionTest {
+    
+    private static final DoubleAffineConversion F_TO_C = DoubleAffineConversion.of(Scales.FAHRENHEIT,Scales.CELSIUS);
+    
+    @Test
+    public void conversionMatchesLevels() {
+        for (double f : new double[] {-459.67,-40,32,98.6,212}) {
+            Level<DoubleField> c = Scales.CELSIUS.level(Scales.FAHRENHEIT.of(DoubleField.of(f)).getMeasure());
+            assertEquals(c.getField().value(),F_TO_C.convert(f),1e-12);
+        }
+        Level<DoubleField> c = F_TO_C.convert(Scales.FAHRENHEIT.of(DoubleField.of(50.0)));
+        assertSame(Scales.CELSIUS,c.getScale());
+        assertEquals(10,c.getField().value(),1e-12);
+        assertThrows(IllegalArgumentException.class,() -> F_TO_C.convert(Scales.CELSIUS.of(DoubleField.of(50.0))));
+        assertThrows(IllegalArgumentException.class,() -> DoubleAffineConversion.of(Scales.bel(Units.WATT),Scales.CELSIUS));
+    }
+    
+    @Test
+    public void arraysAreConvertedInBulk() {
+        double[] f = {32,212,-40};
+        double[] c = F_TO_C.convert(f);
+        assertArrayEquals(new double[] {0,100,-40},c,1e-12);
+        F_TO_C.convert(f,f);
+        assertArrayEquals(c,f);
+        assertThrows(IndexOutOfBoundsException.class,() -> F_TO_C.convert(new double[3],new double[2]));
+    }
+}
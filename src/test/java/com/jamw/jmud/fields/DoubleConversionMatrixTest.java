@@ -0,0 +1,67 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.IncommensurableDimensionException;
+import com.jamw.jmud.Units;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class DoubleConversionMatrixTest {
+    
+    private static final DoubleConversionMatrix PRESSURES = DoubleConversionMatrix.of(
+            Units.PASCAL,Units.KILOPASCAL,Units.MEGAPASCAL,Units.POUND_PER_SQUARE_INCH,Units.KIP_PER_SQUARE_INCH);
+    
+    @Test
+    public void conversionsMatchMeasures() {
+        for (int i = 0; i < PRESSURES.size(); i++)
+            for (int j = 0; j < PRESSURES.size(); j++) {
+                DoubleMeasure m = DoubleMeasure.of(3,PRESSURES.getUnit(i));
+                assertEquals(m.as(PRESSURES.getUnit(j)).value(),PRESSURES.convert(3,i,j),1e-12 * PRESSURES.convert(3,i,j));
+            }
+        assertEquals(1,PRESSURES.factor(3,3));
+        assertEquals(1000,PRESSURES.factor(4,3),1e-9);
+    }
+    
+    @Test
+    public void arraysAreConvertedInBulk() {
+        double[] psi = {1,10,100};
+        double[] kpa = PRESSURES.convert(psi,3,1);
+        for (int i = 0; i < psi.length; i++)
+            assertEquals(PRESSURES.convert(psi[i],3,1),kpa[i]);
+        PRESSURES.convert(psi,3,psi,1);
+        assertArrayEquals(kpa,psi);
+        assertThrows(IndexOutOfBoundsException.class,() -> PRESSURES.convert(new double[3],0,new double[2],1));
+    }
+    
+    @Test
+    public void measuresAreConvertedByIndex() {
+        DoubleMeasure m = PRESSURES.convert(DoubleMeasure.of(2,Units.MEGAPASCAL),1);
+        assertEquals(2000,m.value(),1e-9);
+        assertSame(Units.KILOPASCAL,m.getUnit());
+        assertThrows(IllegalArgumentException.class,() -> PRESSURES.convert(DoubleMeasure.of(2,Units.NEWTON_PER_SQUARE_MILLIMETER),1));
+        assertThrows(IncommensurableDimensionException.class,() -> DoubleConversionMatrix.of(Units.PASCAL,Units.NEWTON));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.Exponents;
+import com.jamw.jmud.Expressions;
+import com.jamw.jmud.IncommensurableDimensionException;
+import com.jamw.jmud.Measure;
+import com.jamw.jmud.Unit;
+import com.jamw.jmud.Units;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class DoubleMeasureTest {
+    
+    private static Measure<DoubleField> generic(double value, Unit unit) {
+        return Expressions.take(DoubleField.of(value),unit);
+    }
+    
+    @Test
+    public void dimensionlessProductsKeepTheUnit() {
+        DoubleMeasure a = DoubleMeasure.of(3,Units.NEWTON);
+        assertSame(Units.NEWTON,a.multiply(2.0).getUnit());
+        assertSame(Units.NEWTON,a.divide(2.0).getUnit());
+        assertSame(Units.NEWTON,a.multiply(2.0,Units.UNITLESS).getUnit());
+        assertEquals(generic(3,Units.NEWTON).multiply(2),a.multiply(2));
+        assertEquals(generic(3,Units.NEWTON).divide(2),a.divide(2));
+        assertThrows(ArithmeticException.class,() -> a.divide(0.0));
+        Unit u = a.multiply(2.0,Units.METER).getUnit();
+        assertSame(u,a.multiply(5.0,Units.METER).getUnit());
+        assertSame(Units.newUnit().as(Units.NEWTON).multiply(Units.METER).create(),u);
+        assertSame(a.divide(1.0,Units.SECOND).getUnit(),a.divide(4.0,Units.SECOND).getUnit());
+    }
+    
+    @Test
+    public void unitScaleIsEvaluatedOncePerField() {
+        Unit u = Units.newUnit().as(Units.FOOT).divide(Units.MINUTE).create();
+        assertSame(u.getScale(DoubleField.factory()),u.getScale(DoubleField.factory()));
+        assertEquals(0.3048 / 60,DoubleField.scaleOf(u),1e-18);
+        assertEquals(0.0254,DoubleField.scaleOf(Units.INCH));
+        assertEquals(1,DoubleField.scaleOf(Units.METER));
+        assertEquals(-1,DoubleMeasure.of(11,Units.INCH).compareTo(DoubleMeasure.of(1,Units.FOOT)));
+    }
+    
+    @Test
+    public void arithmeticMatchesGenericMeasure() {
+        DoubleMeasure a = DoubleMeasure.of(3.5,Units.METER);
+        DoubleMeasure b = DoubleMeasure.of(120,Units.CENTIMETER);
+        DoubleMeasure t = DoubleMeasure.of(2,Units.SECOND);
+        Measure<DoubleField> ga = generic(3.5,Units.METER);
+        Measure<DoubleField> gb = generic(120,Units.CENTIMETER);
+        Measure<DoubleField> gt = generic(2,Units.SECOND);
+        assertEquals(ga.add(gb),a.add(b));
+        assertEquals(ga.subtract(gb),a.subtract(b));
+        assertEquals(ga.multiply(gb),a.multiply(b));
+        assertEquals(ga.divide(gt),a.divide(t));
+        assertEquals(ga.multiply(3),a.multiply(3));
+        assertEquals(ga.divide("4"),a.divide("4"));
+        assertEquals(ga.power(Exponents.CUBED),a.power(Exponents.CUBED));
+        assertEquals(gb.as(Units.FOOT),b.as(Units.FOOT));
+        assertEquals(a.add(b),ga.add(gb));
+    }
+    
+    @Test
+    public void interoperatesWithGenericMeasure() {
+        Unit kph = Units.newUnit().as(Units.kilo(Units.METER)).divide(Units.HOUR).create();
+        DoubleMeasure a = DoubleMeasure.of(1,kph);
+        DoubleMeasure s = a.add(generic(1,Units.METER_PER_SECOND));
+        assertEquals(4.6,s.value(),1e-12);
+        assertSame(kph,s.getUnit());
+        assertEquals(generic(1,kph).add(generic(1,Units.METER_PER_SECOND)),s);
+    }
+    
+    @Test
+    public void comparesAcrossUnits() {
+        DoubleMeasure a = DoubleMeasure.of(1,Units.FOOT);
+        assertTrue(a.isLessThan(generic(1,Units.METER)));
+        assertTrue(a.isGreaterThan(DoubleMeasure.of(11,Units.INCH)));
+    }
+    
+    @Test
+    public void conversionToSameUnitReturnsSameMeasure() {
+        DoubleMeasure a = DoubleMeasure.of(1,Units.FOOT);
+        assertSame(a,a.as(Units.FOOT));
+        assertSame(a,DoubleMeasure.of(a));
+    }
+    
+    @Test
+    public void invalidOperationsThrow() {
+        DoubleMeasure a = DoubleMeasure.of(1,Units.FOOT);
+        assertThrows(IncommensurableDimensionException.class,() -> a.add(1,Units.SECOND));
+        assertThrows(ArithmeticException.class,() -> a.divide(0));
+    }
+}
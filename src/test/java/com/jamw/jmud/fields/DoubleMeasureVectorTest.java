@@ -0,0 +1,79 @@
+/*
+ * jmud - (J)ava (M)easures, (U)nits, and (D)imensions
+ * Copyright (C) 2022 andreww1011
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.jamw.jmud.fields;
+
+import com.jamw.jmud.Dimensions;
+import com.jamw.jmud.IncommensurableDimensionException;
+import com.jamw.jmud.Units;
+import java.util.NoSuchElementException;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author andreww1011
+ */
+public class DoubleMeasureVectorTest {
+    
+    private static final DoubleMeasureVector LENGTHS = DoubleMeasureVector.of(new double[] {1,2,3,4},Units.METER);
+    
+    @Test
+    public void elementWiseArithmeticConvertsOnce() {
+        DoubleMeasureVector cm = DoubleMeasureVector.of(new double[] {100,50,0,-100},Units.CENTIMETER);
+        assertArrayEquals(new double[] {2,2.5,3,3},LENGTHS.add(cm).toArray());
+        assertArrayEquals(new double[] {0,1.5,3,5},LENGTHS.subtract(cm).toArray());
+        assertSame(Units.METER,LENGTHS.add(cm).getUnit());
+    }
+    
+    @Test
+    public void scalarMeasureIsBroadcast() {
+        DoubleMeasureVector t = LENGTHS.divide(DoubleMeasure.of(2,Units.SECOND));
+        assertArrayEquals(new double[] {0.5,1,1.5,2},t.toArray());
+        assertTrue(t.getDimension().isCommensurable(Dimensions.VELOCITY));
+        assertArrayEquals(new double[] {1.5,2.5,3.5,4.5},LENGTHS.add(DoubleMeasure.of(50,Units.CENTIMETER)).toArray());
+    }
+    
+    @Test
+    public void elementsMatchScalarMeasures() {
+        DoubleMeasureVector sq = LENGTHS.multiply(LENGTHS);
+        assertEquals(LENGTHS.get(2).multiply(LENGTHS.get(2)),sq.get(2));
+        assertEquals(LENGTHS.get(1).as(Units.FOOT),LENGTHS.as(Units.FOOT).get(1));
+    }
+    
+    @Test
+    public void reductions() {
+        assertEquals(DoubleMeasure.of(10,Units.METER),LENGTHS.sum());
+        assertEquals(DoubleMeasure.of(2.5,Units.METER),LENGTHS.mean());
+        assertEquals(DoubleMeasure.of(1,Units.METER),LENGTHS.min());
+        assertEquals(DoubleMeasure.of(4,Units.METER),LENGTHS.max());
+        DoubleMeasureVector empty = DoubleMeasureVector.of(new double[0],Units.METER);
+        assertEquals(0,empty.sum().value());
+        assertThrows(NoSuchElementException.class,() -> empty.mean());
+    }
+    
+    @Test
+    public void invalidOperationsThrow() {
+        assertThrows(IncommensurableDimensionException.class,() -> LENGTHS.as(Units.SECOND));
+        assertThrows(IllegalArgumentException.class,() -> LENGTHS.add(DoubleMeasureVector.of(new double[1],Units.METER)));
+        assertThrows(ArithmeticException.class,() -> LENGTHS.divide(0));
+    }
+}